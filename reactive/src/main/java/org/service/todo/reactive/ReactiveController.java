@@ -0,0 +1,71 @@
+package org.service.todo.reactive;
+
+import jakarta.validation.Valid;
+import org.service.todo.model.*;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@RestController
+public class ReactiveController {
+
+    private final ReactiveEventService eventService;
+
+    public ReactiveController(ReactiveEventService eventService) {
+        this.eventService = eventService;
+    }
+
+    @GetMapping(value = "events/get", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Event> getEvents(@RequestParam(required = false) String title, @RequestParam(required = false) String description, @RequestParam(required = false) LocalDate deadline, @RequestParam(required = false) Status status, @RequestParam(required = false) Priority priority, @RequestParam(required = false) LocalDate creationDate, @RequestParam(required = false) LocalDate editDate) {
+        return eventService.getEvents(title, description, deadline, status, priority, creationDate, editDate);
+    }
+
+    @PostMapping("events/create")
+    public Mono<Void> createEvent(@RequestBody @Valid EventDTOAdd eventDTO) {
+        Event event = toEvent(eventDTO.getTitle(), eventDTO.getDescription(), eventDTO.getDeadline(), eventDTO.getPriority());
+        event.setParentId(eventDTO.getParentId());
+        return eventService.addEvent(event).then();
+    }
+
+    @PutMapping("events/edit/{id}")
+    public Mono<Event> editEvent(@RequestBody @Valid EventDTOEdit eventDTO, @PathVariable long id) {
+        return eventService.editEvent(toEvent(eventDTO.getTitle(), eventDTO.getDescription(), eventDTO.getDeadline(), eventDTO.getPriority()), id);
+    }
+
+    @DeleteMapping("events/delete/{id}")
+    public Mono<Void> deleteEvent(@PathVariable long id) {
+        return eventService.deleteEvent(id);
+    }
+
+    @DeleteMapping("events/delete/all")
+    public Mono<Void> deleteAllEvents() {
+        return eventService.deleteAllEvents();
+    }
+
+    @PutMapping("events/markAsComplete/{id}")
+    public Mono<Event> markAsComplete(@PathVariable long id) {
+        return eventService.markAsComplete(id);
+    }
+
+    @PutMapping("events/markAsUnComplete/{id}")
+    public Mono<Event> markAsUnComplete(@PathVariable long id) {
+        return eventService.markAsUnComplete(id);
+    }
+
+    @GetMapping("events/getById/{id}")
+    public Mono<Event> getEventById(@PathVariable long id) {
+        return eventService.getById(id);
+    }
+
+    private static Event toEvent(String title, String description, LocalDate deadline, Priority priority) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setDescription(description);
+        event.setDeadline(deadline);
+        event.setPriority(priority);
+        return event;
+    }
+}
@@ -0,0 +1,256 @@
+package org.service.todo.reactive;
+
+import io.r2dbc.spi.Readable;
+import org.service.todo.model.Event;
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Same tables and bookkeeping as the JPA side: every write takes a change sequence, deletes
+ * leave tombstones for events/sync, and each write records an invalidation row so servlet nodes
+ * sharing the database drop their caches and indexes. Inserts maintain the subtask closure
+ * table and deletes take the subtree and its tags with them; with {@code todo.delete.soft} the
+ * events are only flagged as deleted. Every statement is restricted to the tenant the
+ * {@link ReactiveTenantFilter} put into the Reactor context.
+ */
+@Component
+public class ReactiveEventRepository {
+
+    private static final String COLUMNS = "id, title, description, deadline, status, priority, created_date, edit_date, change_seq, parent_id";
+    private static final Set<String> ORDER_COLUMNS = Set.of("id", "title", "description", "deadline", "status", "priority", "created_date", "edit_date");
+
+    private final DatabaseClient client;
+    private final boolean softDelete;
+    private final int maxIdsPerRecord;
+    private final String nodeId = "reactive-" + UUID.randomUUID();
+
+    public ReactiveEventRepository(DatabaseClient client, @Value("${todo.delete.soft:false}") boolean softDelete,
+                                   @Value("${todo.invalidation.max-ids-per-record:200}") int maxIdsPerRecord) {
+        this.client = client;
+        this.softDelete = softDelete;
+        this.maxIdsPerRecord = maxIdsPerRecord;
+    }
+
+    public Flux<Event> findAll(String orderColumn) {
+        if (!ORDER_COLUMNS.contains(orderColumn)) {
+            throw new IllegalArgumentException("Unknown order column " + orderColumn);
+        }
+        return tenant().flatMapMany(tenant -> client.sql("select " + COLUMNS + " from event " +
+                        "where tenant_id = :tenant and deleted = false order by " + orderColumn)
+                .bind("tenant", tenant)
+                .map(ReactiveEventRepository::toEvent)
+                .all());
+    }
+
+    public Mono<Event> findById(long id) {
+        return tenant().flatMap(tenant -> client.sql("select " + COLUMNS + " from event where id = :id and tenant_id = :tenant and deleted = false")
+                .bind("id", id)
+                .bind("tenant", tenant)
+                .map(ReactiveEventRepository::toEvent)
+                .one());
+    }
+
+    public Mono<Event> insert(Event event) {
+        return Mono.zip(tenant(), client.sql("select nextval('event_seq')")
+                        .map(row -> row.get(0, Long.class))
+                        .one())
+                .flatMap(tuple -> {
+                    String tenant = tuple.getT1();
+                    long id = tuple.getT2();
+                    event.setId(id);
+                    event.setTenantId(tenant);
+                    DatabaseClient.GenericExecuteSpec spec = client.sql("insert into event (" + COLUMNS + ", tenant_id, deleted) values " +
+                                    "(:id, :title, :description, :deadline, :status, :priority, :createdDate, :editDate, nextval('event_change_seq'), :parentId, :tenant, false)")
+                            .bind("id", id)
+                            .bind("tenant", tenant)
+                            .bind("title", event.getTitle())
+                            .bind("status", event.getStatus().name())
+                            .bind("createdDate", event.getCreatedDate())
+                            .bind("editDate", event.getEditDate());
+                    spec = bindNullable(spec, "description", event.getDescription(), String.class);
+                    spec = bindNullable(spec, "deadline", event.getDeadline(), LocalDate.class);
+                    spec = bindNullable(spec, "priority", event.getPriority() == null ? null : event.getPriority().name(), String.class);
+                    spec = bindNullable(spec, "parentId", event.getParentId(), Long.class);
+                    return spec.then().then(link(id, event.getParentId(), tenant)).then(invalidate(Set.of(id), tenant)).thenReturn(event);
+                });
+    }
+
+    public Mono<Long> updateFields(long id, String title, String description, LocalDate deadline, Priority priority, LocalDate today) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql("update event set title = coalesce(:title, title), " +
+                        "description = coalesce(:description, description), deadline = coalesce(:deadline, deadline), " +
+                        "priority = coalesce(:priority, priority), edit_date = :today, change_seq = nextval('event_change_seq') " +
+                        "where id = :id and tenant_id = :tenant and deleted = false")
+                .bind("id", id)
+                .bind("today", today);
+        spec = bindNullable(spec, "title", title, String.class);
+        spec = bindNullable(spec, "description", description, String.class);
+        spec = bindNullable(spec, "deadline", deadline, LocalDate.class);
+        spec = bindNullable(spec, "priority", priority == null ? null : priority.name(), String.class);
+        return updated(spec, Set.of(id));
+    }
+
+    public Mono<Long> markAsComplete(long id, LocalDate today) {
+        return updated(client.sql("update event set status = case when status = 'Overdue' then 'Late' else 'Completed' end, " +
+                        "edit_date = :today, change_seq = nextval('event_change_seq') where id = :id and tenant_id = :tenant and deleted = false")
+                .bind("id", id)
+                .bind("today", today), Set.of(id));
+    }
+
+    public Mono<Long> markAsUnComplete(long id, LocalDate today) {
+        return updated(client.sql("update event set status = case when status = 'Late' then 'Overdue' else 'Active' end, " +
+                        "edit_date = :today, change_seq = nextval('event_change_seq') where id = :id and tenant_id = :tenant and deleted = false")
+                .bind("id", id)
+                .bind("today", today), Set.of(id));
+    }
+
+    public Mono<Long> updateStatus(Collection<Long> ids, Status status) {
+        return tenant().flatMap(tenant -> client.sql("update event set status = :status, change_seq = nextval('event_change_seq') where id in (:ids) and tenant_id = :tenant")
+                .bind("status", status.name())
+                .bind("ids", ids)
+                .bind("tenant", tenant)
+                .fetch()
+                .rowsUpdated());
+    }
+
+    public Mono<Long> delete(long id) {
+        return tenant().flatMap(tenant -> client.sql("select c.descendant_id from event_closure c where c.ancestor_id = :id")
+                .bind("id", id)
+                .map(row -> row.get(0, Long.class))
+                .all()
+                .concatWithValues(id)
+                .distinct()
+                .collectList()
+                .flatMap(ids -> delete(ids, tenant)));
+    }
+
+    // closure and tag rows are shared by all tenants, so they go first while the events still tell whose they are
+    private Mono<Long> delete(List<Long> ids, String tenant) {
+        return nextChangeSeq().flatMap(seq -> client.sql("insert into event_tombstone (event_id, change_seq, deleted_at, tenant_id) " +
+                                "select id, :seq, :now, tenant_id from event where id in (:ids) and tenant_id = :tenant and deleted = false")
+                        .bind("seq", seq)
+                        .bind("now", Instant.now())
+                        .bind("ids", ids)
+                        .bind("tenant", tenant)
+                        .then()
+                .then(client.sql("delete from event_closure where descendant_id in " +
+                                "(select id from event where id in (:ids) and tenant_id = :tenant)")
+                        .bind("ids", ids)
+                        .bind("tenant", tenant)
+                        .then())
+                .then(client.sql("delete from event_tag where event_id in (select id from event where id in (:ids) and tenant_id = :tenant)")
+                        .bind("ids", ids)
+                        .bind("tenant", tenant)
+                        .then())
+                .then(updated(softDelete
+                        ? client.sql("update event set deleted = true, change_seq = :seq where id in (:ids) and tenant_id = :tenant and deleted = false")
+                                .bind("seq", seq)
+                                .bind("ids", ids)
+                        : client.sql("delete from event where id in (:ids) and tenant_id = :tenant").bind("ids", ids), Set.copyOf(ids))));
+    }
+
+    public Mono<Void> deleteAll() {
+        return tenant().flatMap(tenant -> nextChangeSeq().flatMap(seq -> client.sql("insert into event_tombstone (event_id, change_seq, deleted_at, tenant_id) " +
+                                "select id, :seq, :now, tenant_id from event where tenant_id = :tenant and deleted = false")
+                        .bind("seq", seq)
+                        .bind("now", Instant.now())
+                        .bind("tenant", tenant)
+                        .then()
+                .then(client.sql("delete from event_closure where descendant_id in (select id from event where tenant_id = :tenant)")
+                        .bind("tenant", tenant)
+                        .then())
+                .then(client.sql("delete from event_tag where event_id in (select id from event where tenant_id = :tenant)")
+                        .bind("tenant", tenant)
+                        .then())
+                .then(softDelete
+                        ? client.sql("update event set deleted = true, change_seq = :seq where tenant_id = :tenant and deleted = false")
+                                .bind("seq", seq)
+                                .bind("tenant", tenant)
+                                .then()
+                        : client.sql("delete from event where tenant_id = :tenant").bind("tenant", tenant).then())
+                .then(invalidate(null, tenant))));
+    }
+
+    private Mono<Void> link(long id, Long parentId, String tenant) {
+        Mono<Void> self = client.sql("insert into event_closure (ancestor_id, descendant_id, depth) values (:id, :id, 0)")
+                .bind("id", id)
+                .then();
+        if (parentId == null) {
+            return self;
+        }
+        return self.then(client.sql("insert into event_closure (ancestor_id, descendant_id, depth) " +
+                                "select ancestor_id, :id, depth + 1 from event_closure where descendant_id = :parentId " +
+                                "and exists (select 1 from event p where p.id = :parentId and p.tenant_id = :tenant and p.deleted = false)")
+                        .bind("id", id)
+                        .bind("parentId", parentId)
+                        .bind("tenant", tenant)
+                        .fetch()
+                        .rowsUpdated())
+                .flatMap(rows -> rows == 0
+                        ? Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parent event not found"))
+                        : Mono.empty());
+    }
+
+    /**
+     * Runs a statement restricted by a {@code :tenant} parameter and records an invalidation
+     * when it touched any row.
+     */
+    private Mono<Long> updated(DatabaseClient.GenericExecuteSpec spec, Set<Long> ids) {
+        return tenant().flatMap(tenant -> spec.bind("tenant", tenant).fetch().rowsUpdated()
+                .flatMap(rows -> rows == 0 ? Mono.just(rows) : invalidate(ids, tenant).thenReturn(rows)));
+    }
+
+    private static Mono<String> tenant() {
+        return Mono.deferContextual(context -> Mono.just(ReactiveTenantFilter.tenant(context)));
+    }
+
+    private Mono<Long> nextChangeSeq() {
+        return client.sql("select nextval('event_change_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private Mono<Void> invalidate(Set<Long> ids, String tenant) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql("insert into event_invalidation (id, node_id, event_ids, created_at, tenants) " +
+                        "values (nextval('event_invalidation_seq'), :nodeId, :eventIds, current_timestamp, :tenants)")
+                .bind("nodeId", nodeId)
+                .bind("tenants", tenant);
+        // like the servlet bus, too many ids widen the row to everything so it fits the column
+        String eventIds = ids == null || ids.size() > maxIdsPerRecord ? null : ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return bindNullable(spec, "eventIds", eventIds, String.class).then();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static Event toEvent(Readable row) {
+        Event event = new Event();
+        event.setId(row.get("id", Long.class));
+        event.setTitle(row.get("title", String.class));
+        event.setDescription(row.get("description", String.class));
+        event.setDeadline(row.get("deadline", LocalDate.class));
+        event.setStatus(Status.valueOf(row.get("status", String.class)));
+        String priority = row.get("priority", String.class);
+        event.setPriority(priority == null ? null : Priority.valueOf(priority));
+        event.setCreatedDate(row.get("created_date", LocalDate.class));
+        event.setEditDate(row.get("edit_date", LocalDate.class));
+        event.setChangeSeq(row.get("change_seq", Long.class));
+        event.setParentId(row.get("parent_id", Long.class));
+        return event;
+    }
+}
@@ -0,0 +1,137 @@
+package org.service.todo.reactive;
+
+import org.service.todo.model.Event;
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+import org.service.todo.service.EventRules;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of {@link org.service.todo.service.EventService}. Writes publish the same
+ * invalidations and tombstones, but record no event history: the history recorder belongs to the
+ * JPA stack, so {@code events/history} of the servlet application only shows deletes, taken from
+ * the tombstones, for events changed through this module.
+ */
+@Service
+public class ReactiveEventService {
+
+    private final ReactiveEventRepository repository;
+    private final int streamBatchSize;
+
+    public ReactiveEventService(ReactiveEventRepository repository,
+                                @Value("${todo.reactive.stream-batch-size:256}") int streamBatchSize) {
+        this.repository = repository;
+        this.streamBatchSize = streamBatchSize;
+    }
+
+    /**
+     * Streams events in the order of the first given filter, like the servlet endpoint. Rows are
+     * pulled from the database only as fast as the client reads; derived statuses are written
+     * back once per batch before the batch is emitted.
+     */
+    public Flux<Event> getEvents(String title, String description, LocalDate deadline, Status status, Priority priority, LocalDate creationDate, LocalDate editDate) {
+        String order;
+        if (title != null) {
+            order = "title";
+        } else if (description != null) {
+            order = "description";
+        } else if (deadline != null) {
+            order = "deadline";
+        } else if (status != null) {
+            order = "status";
+        } else if (priority != null) {
+            order = "priority";
+        } else if (creationDate != null) {
+            order = "created_date";
+        } else if (editDate != null) {
+            order = "edit_date";
+        } else {
+            order = "id";
+        }
+        return repository.findAll(order)
+                .buffer(streamBatchSize)
+                .concatMap(batch -> persistDerived(batch).thenMany(Flux.fromIterable(batch)));
+    }
+
+    private Mono<Void> persistDerived(List<Event> batch) {
+        LocalDate today = LocalDate.now();
+        Map<Status, List<Long>> derived = new EnumMap<>(Status.class);
+        for (Event event : batch) {
+            Status listed = EventRules.listedStatus(event, today);
+            if (listed != event.getStatus()) {
+                event.setStatus(listed);
+                derived.computeIfAbsent(listed, s -> new ArrayList<>()).add(event.getId());
+            }
+        }
+        return Flux.fromIterable(derived.entrySet())
+                .concatMap(entry -> repository.updateStatus(entry.getValue(), entry.getKey()))
+                .then();
+    }
+
+    public Mono<Event> getById(long id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(ReactiveEventService::notFound))
+                .flatMap(event -> {
+                    Status current = EventRules.currentStatus(event, LocalDate.now());
+                    if (current == event.getStatus()) {
+                        return Mono.just(event);
+                    }
+                    event.setStatus(current);
+                    return repository.updateStatus(List.of(event.getId()), current).thenReturn(event);
+                });
+    }
+
+    @Transactional
+    public Mono<Event> addEvent(Event event) {
+        LocalDate today = LocalDate.now();
+        event.setCreatedDate(today);
+        event.setEditDate(today);
+        return repository.insert(EventRules.applyDirectives(event));
+    }
+
+    @Transactional
+    public Mono<Event> editEvent(Event event, long id) {
+        return repository.updateFields(id, event.getTitle(), event.getDescription(), event.getDeadline(), event.getPriority(), LocalDate.now())
+                .flatMap(rows -> reloadIfUpdated(rows, id));
+    }
+
+    @Transactional
+    public Mono<Event> markAsComplete(long id) {
+        return repository.markAsComplete(id, LocalDate.now()).flatMap(rows -> reloadIfUpdated(rows, id));
+    }
+
+    @Transactional
+    public Mono<Event> markAsUnComplete(long id) {
+        return repository.markAsUnComplete(id, LocalDate.now()).flatMap(rows -> reloadIfUpdated(rows, id));
+    }
+
+    @Transactional
+    public Mono<Void> deleteEvent(long id) {
+        return repository.delete(id).flatMap(rows -> rows == 0 ? Mono.<Void>error(notFound()) : Mono.<Void>empty());
+    }
+
+    @Transactional
+    public Mono<Void> deleteAllEvents() {
+        return repository.deleteAll();
+    }
+
+    private Mono<Event> reloadIfUpdated(long rows, long id) {
+        return rows == 0 ? Mono.error(notFound()) : repository.findById(id);
+    }
+
+    private static ResponseStatusException notFound() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found");
+    }
+}
@@ -0,0 +1,48 @@
+package org.service.todo.reactive;
+
+import org.service.todo.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Reactive counterpart of {@code TenantFilter}. A request hops threads, so the tenant travels in
+ * the Reactor context instead of a thread local, and {@link ReactiveEventRepository} reads it
+ * from there.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReactiveTenantFilter implements WebFilter {
+
+    static final String TENANT_KEY = "todo.tenant";
+
+    private final boolean required;
+
+    public ReactiveTenantFilter(@Value("${todo.tenant.required:false}") boolean required) {
+        this.required = required;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(TenantContext.TENANT_HEADER);
+        String tenant;
+        try {
+            tenant = header == null && !required ? TenantContext.DEFAULT : TenantContext.validate(header);
+        } catch (IllegalArgumentException e) {
+            exchange.getResponse().setStatusCode(HttpStatus.BAD_REQUEST);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange).contextWrite(context -> context.put(TENANT_KEY, tenant));
+    }
+
+    static String tenant(ContextView context) {
+        return context.getOrDefault(TENANT_KEY, TenantContext.DEFAULT);
+    }
+}
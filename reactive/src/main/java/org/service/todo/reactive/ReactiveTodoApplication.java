@@ -0,0 +1,13 @@
+package org.service.todo.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveTodoApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveTodoApplication.class, args);
+    }
+
+}
@@ -0,0 +1,54 @@
+create sequence if not exists event_seq start with 1 increment by 50;
+create sequence if not exists event_change_seq;
+create sequence if not exists event_invalidation_seq start with 1 increment by 50;
+
+create table if not exists event (
+    id bigint primary key,
+    title varchar(255) not null,
+    description varchar(255),
+    deadline date,
+    status varchar(32) not null,
+    priority varchar(32),
+    created_date date,
+    edit_date date,
+    change_seq bigint,
+    parent_id bigint,
+    deleted boolean default false not null,
+    tenant_id varchar(64) default 'default' not null
+);
+create index if not exists idx_event_change_seq on event (tenant_id, change_seq);
+create index if not exists idx_event_tenant on event (tenant_id, id);
+create index if not exists idx_event_deadline on event (deadline, id);
+
+create table if not exists event_closure (
+    ancestor_id bigint not null,
+    descendant_id bigint not null,
+    depth integer not null,
+    primary key (ancestor_id, descendant_id)
+);
+create index if not exists idx_event_closure_descendant on event_closure (descendant_id, depth);
+
+create table if not exists event_tag (
+    event_id bigint not null,
+    tag varchar(64) not null,
+    primary key (event_id, tag)
+);
+create index if not exists idx_event_tag_tag on event_tag (tag, event_id);
+
+create table if not exists event_tombstone (
+    event_id bigint primary key,
+    change_seq bigint not null,
+    deleted_at timestamp with time zone not null,
+    tenant_id varchar(64) default 'default' not null
+);
+create index if not exists idx_event_tombstone_change_seq on event_tombstone (change_seq);
+create index if not exists idx_event_tombstone_tenant on event_tombstone (tenant_id, change_seq);
+
+create table if not exists event_invalidation (
+    id bigint primary key,
+    node_id varchar(64) not null,
+    event_ids varchar(4000),
+    created_at timestamp with time zone not null,
+    tenants varchar(4000)
+);
+create index if not exists idx_event_invalidation_created_at on event_invalidation (created_at);
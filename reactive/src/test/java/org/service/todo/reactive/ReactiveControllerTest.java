@@ -0,0 +1,125 @@
+package org.service.todo.reactive;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.service.todo.model.Event;
+import org.service.todo.model.EventDTOAdd;
+import org.service.todo.model.EventDTOEdit;
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class ReactiveControllerTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private ReactiveEventService eventService;
+
+    @AfterEach
+    void cleanup() {
+        eventService.deleteAllEvents().block();
+    }
+
+    private void create(String title, LocalDate deadline) {
+        client.post().uri("/events/create")
+                .bodyValue(new EventDTOAdd(title, "Description", deadline, null))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private List<Event> getAll() {
+        return client.get().uri("/events/get")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Event.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+    }
+
+    @Test
+    void createEvent_shouldApplyTitleDirectives() {
+        create("Pay rent !1 !before 01-01-2099", null);
+
+        Event event = getAll().get(0);
+        assertEquals("Pay rent  ", event.getTitle());
+        assertEquals(Priority.Critical, event.getPriority());
+        assertEquals(LocalDate.of(2099, 1, 1), event.getDeadline());
+    }
+
+    @Test
+    void createEvent_shouldRejectShortTitle() {
+        client.post().uri("/events/create")
+                .bodyValue(new EventDTOAdd("abc", "Description", null, Priority.Low))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void editEvent_shouldRejectShortTitle() {
+        create("Valid title", null);
+        long id = getAll().get(0).getId();
+
+        client.put().uri("/events/edit/" + id)
+                .bodyValue(new EventDTOEdit("abc", "Description", null, Priority.Low))
+                .exchange()
+                .expectStatus().isBadRequest();
+        assertEquals("Valid title", getAll().get(0).getTitle());
+    }
+
+    @Test
+    void getEvents_shouldDeriveOverdueStatus() {
+        create("Yesterday's task", LocalDate.now().minusDays(1));
+
+        assertEquals(Status.Overdue, getAll().get(0).getStatus());
+    }
+
+    @Test
+    void getEvents_shouldStreamWithBackpressure() {
+        for (int i = 0; i < 10; i++) {
+            create("Streamed task " + i, null);
+        }
+
+        Flux<Event> events = eventService.getEvents(null, null, null, null, null, null, null);
+        StepVerifier.create(events, 3)
+                .expectNextCount(3)
+                .thenRequest(7)
+                .expectNextCount(7)
+                .verifyComplete();
+    }
+
+    @Test
+    void markAsComplete_shouldCompleteEvent() {
+        create("Finish report", LocalDate.now().plusDays(1));
+        long id = getAll().get(0).getId();
+
+        client.put().uri("/events/markAsComplete/" + id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Event.class)
+                .value(event -> assertEquals(Status.Completed, event.getStatus()));
+    }
+
+    @Test
+    void deleteEvent_shouldReturnNotFoundForUnknownId() {
+        client.delete().uri("/events/delete/999999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
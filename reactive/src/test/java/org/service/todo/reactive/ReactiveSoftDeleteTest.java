@@ -0,0 +1,78 @@
+package org.service.todo.reactive;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.service.todo.model.Event;
+import org.service.todo.model.EventDTOAdd;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"todo.delete.soft=true", "todo.invalidation.max-ids-per-record=1"})
+@AutoConfigureWebTestClient
+class ReactiveSoftDeleteTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactiveEventService eventService;
+
+    @AfterEach
+    void cleanup() {
+        eventService.deleteAllEvents().block();
+        databaseClient.sql("delete from event").then().block();
+    }
+
+    private List<Event> getAll() {
+        return client.get().uri("/events/get")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Event.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+    }
+
+    @Test
+    void deleteEvent_shouldFlagTheSubtreeAndWidenTheInvalidation() {
+        client.post().uri("/events/create")
+                .bodyValue(new EventDTOAdd("Parent event", "Description", null, null))
+                .exchange()
+                .expectStatus().isOk();
+        long parentId = getAll().get(0).getId();
+        client.post().uri("/events/create")
+                .bodyValue(new EventDTOAdd("Child event", "Description", null, null, parentId))
+                .exchange()
+                .expectStatus().isOk();
+
+        client.delete().uri("/events/delete/" + parentId)
+                .exchange()
+                .expectStatus().isOk();
+
+        assertTrue(getAll().isEmpty());
+        assertEquals(2L, databaseClient.sql("select count(*) from event where deleted = true")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block());
+        // two ids exceed the cap of one, so the row asks for everything to be reloaded
+        assertEquals(1L, databaseClient.sql("select count(*) from event_invalidation " +
+                        "where id = (select max(id) from event_invalidation) and event_ids is null")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block());
+    }
+}
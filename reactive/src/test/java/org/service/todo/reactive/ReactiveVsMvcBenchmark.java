@@ -0,0 +1,91 @@
+package org.service.todo.reactive;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.service.todo.model.Event;
+import org.service.todo.model.EventDTOAdd;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+
+/**
+ * Drives the same request mix against this module and a running servlet instance. Start the
+ * servlet app first with admission control off (for example
+ * {@code java -jar target/TODO-0.0.1-SNAPSHOT.jar --todo.admission.enabled=false}) and pass its
+ * base url with {@code -Dmvc.url=http://localhost:7856}; without it only the reactive side is measured.
+ */
+@Tag("benchmark")
+class ReactiveVsMvcBenchmark {
+
+    private static final int EVENTS = 2_000;
+    private static final int REQUESTS = 20_000;
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 512);
+
+    @Test
+    void compareStacks() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ReactiveTodoApplication.class)
+                .properties("server.port=0")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            report("webflux", run("http://localhost:" + port));
+        }
+        String mvcUrl = System.getProperty("mvc.url");
+        if (mvcUrl != null) {
+            report("mvc", run(mvcUrl));
+        }
+    }
+
+    private long[] run(String baseUrl) {
+        WebClient client = WebClient.builder()
+                .baseUrl(baseUrl)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(64 * 1024 * 1024))
+                .build();
+        client.delete().uri("/events/delete/all").retrieve().toBodilessEntity().block();
+        Flux.range(0, EVENTS)
+                .flatMap(i -> client.post().uri("/events/create")
+                        .bodyValue(new EventDTOAdd("Benchmark event " + i, "Description", null, null))
+                        .retrieve()
+                        .toBodilessEntity(), 64)
+                .blockLast();
+        long[] ids = client.get().uri("/events/get").accept(MediaType.APPLICATION_JSON).retrieve()
+                .bodyToFlux(Event.class)
+                .map(Event::getId)
+                .collectList()
+                .map(list -> list.stream().mapToLong(Long::longValue).toArray())
+                .block();
+
+        long[] latencies = Flux.range(0, REQUESTS)
+                .flatMap(i -> timed(i % 10 == 0
+                        ? client.get().uri("/events/get").accept(MediaType.APPLICATION_JSON).retrieve().toBodilessEntity()
+                        : client.get().uri("/events/getById/{id}", ids[i % ids.length]).retrieve().toBodilessEntity()), CONCURRENCY)
+                .collectList()
+                .map(list -> list.stream().mapToLong(Long::longValue).toArray())
+                .block();
+        client.delete().uri("/events/delete/all").retrieve().toBodilessEntity().block();
+        return latencies;
+    }
+
+    private static Mono<Long> timed(Mono<?> request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request.then(Mono.fromSupplier(() -> System.nanoTime() - start));
+        });
+    }
+
+    private static void report(String stack, long[] latencies) {
+        Arrays.sort(latencies);
+        System.out.printf("%-8s p50 %7.2f ms  p99 %7.2f ms  p999 %7.2f ms  max %7.2f ms%n", stack,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+}
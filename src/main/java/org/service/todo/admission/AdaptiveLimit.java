@@ -0,0 +1,72 @@
+package org.service.todo.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD concurrency limit driven by latency: the limit grows by about one per round of
+ * requests while latency stays near the best observed, and is cut multiplicatively once
+ * latency exceeds it by {@code tolerance} (and the absolute {@code floorNanos}) or a request fails.
+ */
+public class AdaptiveLimit {
+
+    private static final int MIN_RTT_RESET_SAMPLES = 1000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoff;
+    private final long floorNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private long minRttNanos = Long.MAX_VALUE;
+    private int samples;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoff, long floorNanos) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoff = backoff;
+        this.floorNanos = floorNanos;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public synchronized void onSample(long rttNanos, boolean failed) {
+        if (++samples >= MIN_RTT_RESET_SAMPLES) {
+            // let the baseline follow lasting shifts in latency instead of shrinking forever
+            samples = 0;
+            minRttNanos = rttNanos;
+        } else if (rttNanos < minRttNanos) {
+            minRttNanos = rttNanos;
+        }
+        if (failed || (rttNanos > floorNanos && rttNanos > minRttNanos * tolerance)) {
+            limit = Math.max(minLimit, limit * backoff);
+        } else if (inFlight.get() * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
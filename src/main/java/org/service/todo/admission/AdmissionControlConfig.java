@@ -0,0 +1,48 @@
+package org.service.todo.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "todo.admission.enabled", havingValue = "true")
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionController admissionController(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        return new AdmissionController(properties, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionController admissionController,
+                                                                                 @Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> handlerMapping) {
+        // resolved on the first request, once the controllers have been mapped
+        AdmissionEndpoints endpoints = new AdmissionEndpoints(() -> {
+            Map<PathPattern, CostClass> costs = new HashMap<>();
+            handlerMapping.getObject().getHandlerMethods().forEach((info, handler) -> {
+                AdmissionCost cost = handler.getMethodAnnotation(AdmissionCost.class);
+                if (info.getPathPatternsCondition() != null) {
+                    info.getPathPatternsCondition().getPatterns()
+                            .forEach(pattern -> costs.merge(pattern, cost == null ? CostClass.Cheap : cost.value(), CostClass::max));
+                }
+            });
+            return costs;
+        });
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(new AdmissionControlFilter(admissionController, endpoints));
+        registration.addUrlPatterns("/events/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
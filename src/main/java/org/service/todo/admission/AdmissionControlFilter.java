@@ -0,0 +1,54 @@
+package org.service.todo.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.service.todo.tenant.TenantContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionController admissionController;
+    private final AdmissionEndpoints endpoints;
+
+    public AdmissionControlFilter(AdmissionController admissionController, AdmissionEndpoints endpoints) {
+        this.admissionController = admissionController;
+        this.endpoints = endpoints;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        String endpoint = endpoints.resolve(request.getRequestURI().substring(request.getContextPath().length()));
+        AdmissionController.Decision decision = admissionController.admit(TenantContext.current(), clientId(request), endpoint, endpoints.cost(endpoint));
+        if (!decision.admitted()) {
+            HttpStatus status = decision.rejection() == AdmissionController.Rejection.Overload ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS;
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+            response.setStatus(status.value());
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            admissionController.complete(decision, System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Keys the client bucket on what the client cannot choose: the authenticated principal, else
+     * the remote address. Behind a proxy, set {@code server.forward-headers-strategy} so the
+     * address is taken from the forwarded headers of trusted proxies only.
+     */
+    private static String clientId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,130 @@
+package org.service.todo.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides whether a request may run. Every client and every tenant has a token bucket, every
+ * endpoint an adaptive concurrency limit, and scans may only use {@code scanShare} of the global
+ * concurrency so cheap requests are still admitted while scans back up. Within that, the scans
+ * of one tenant may only use {@code tenantScanShare}, so a tenant scanning a large dataset
+ * leaves room for the scans of the others.
+ */
+public class AdmissionController {
+
+    public enum Rejection {
+        ClientRate,
+        TenantRate,
+        Overload
+    }
+
+    public record Decision(Rejection rejection, long retryAfterSeconds, AdaptiveLimit limit, AtomicInteger tenantScans) {
+        public boolean admitted() {
+            return rejection == null;
+        }
+    }
+
+    private static final long BUCKET_IDLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveLimit> limits = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> tenantBuckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> tenantScans = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AdmissionController(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("todo.admission.in_flight", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public Decision admit(String tenant, String client, String endpoint, CostClass cost) {
+        long waitNanos = bucket(buckets, tenant + "/" + client, properties.getClientBurst(), properties.getClientRate()).tryConsume(cost.tokens());
+        if (waitNanos > 0) {
+            return reject(endpoint, Rejection.ClientRate, retryAfterSeconds(waitNanos));
+        }
+        waitNanos = bucket(tenantBuckets, tenant, properties.getTenantBurst(), properties.getTenantRate()).tryConsume(cost.tokens());
+        if (waitNanos > 0) {
+            return reject(endpoint, Rejection.TenantRate, retryAfterSeconds(waitNanos));
+        }
+        AtomicInteger scans = null;
+        if (cost == CostClass.Scan) {
+            scans = tenantScans.computeIfAbsent(tenant, key -> new AtomicInteger());
+            if (scans.incrementAndGet() > Math.max(1, (int) (properties.getMaxConcurrency() * properties.getTenantScanShare()))) {
+                scans.decrementAndGet();
+                return reject(endpoint, Rejection.Overload, 1);
+            }
+        }
+        int ceiling = cost == CostClass.Scan ? (int) (properties.getMaxConcurrency() * properties.getScanShare()) : properties.getMaxConcurrency();
+        if (inFlight.incrementAndGet() > ceiling) {
+            inFlight.decrementAndGet();
+            return release(scans, reject(endpoint, Rejection.Overload, 1));
+        }
+        AdaptiveLimit limit = limit(endpoint);
+        if (!limit.tryAcquire()) {
+            inFlight.decrementAndGet();
+            return release(scans, reject(endpoint, Rejection.Overload, 1));
+        }
+        return new Decision(null, 0, limit, scans);
+    }
+
+    public void complete(Decision decision, long rttNanos, boolean failed) {
+        decision.limit().release();
+        inFlight.decrementAndGet();
+        release(decision.tenantScans(), decision);
+        decision.limit().onSample(rttNanos, failed);
+    }
+
+    private static Decision release(AtomicInteger scans, Decision decision) {
+        if (scans != null) {
+            scans.decrementAndGet();
+        }
+        return decision;
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+    }
+
+    private Decision reject(String endpoint, Rejection rejection, long retryAfterSeconds) {
+        Counter.builder("todo.admission.rejected")
+                .tag("endpoint", endpoint)
+                .tag("reason", rejection.name())
+                .register(meterRegistry)
+                .increment();
+        return new Decision(rejection, retryAfterSeconds, null, null);
+    }
+
+    private AdaptiveLimit limit(String endpoint) {
+        return limits.computeIfAbsent(endpoint, key -> {
+            AdaptiveLimit limit = new AdaptiveLimit(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+                    properties.getLatencyTolerance(), properties.getBackoff(), properties.getLatencyFloor().toNanos());
+            Gauge.builder("todo.admission.limit", limit, AdaptiveLimit::getLimit).tag("endpoint", key).register(meterRegistry);
+            return limit;
+        });
+    }
+
+    /**
+     * Drops the buckets of clients and tenants that have not sent a request for a while; a
+     * returning caller starts again with a full bucket.
+     */
+    @Scheduled(fixedDelayString = "${todo.admission.bucket-sweep-interval:PT1M}")
+    public void sweepIdleBuckets() {
+        long idleSince = System.nanoTime() - BUCKET_IDLE_NANOS;
+        buckets.values().removeIf(bucket -> bucket.isIdleSince(idleSince));
+        tenantBuckets.values().removeIf(bucket -> bucket.isIdleSince(idleSince));
+    }
+
+    private static TokenBucket bucket(Map<String, TokenBucket> buckets, String key, double burst, double rate) {
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(burst, rate));
+    }
+}
@@ -0,0 +1,15 @@
+package org.service.todo.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cost class of a handler method for admission control. Handlers without it are {@link CostClass#Cheap}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdmissionCost {
+    CostClass value();
+}
@@ -0,0 +1,55 @@
+package org.service.todo.admission;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Maps a request path to the handler pattern it will be dispatched to, so limits and meters are
+ * kept per mapped endpoint rather than per URI, and gives the cost class its handlers declare.
+ * Paths no handler matches share one key.
+ */
+public class AdmissionEndpoints {
+
+    public static final String UNMATCHED = "unmatched";
+
+    private final Supplier<? extends Map<PathPattern, CostClass>> source;
+
+    private volatile List<PathPattern> patterns;
+    private volatile Map<String, CostClass> costs;
+
+    public AdmissionEndpoints(Supplier<? extends Map<PathPattern, CostClass>> source) {
+        this.source = source;
+    }
+
+    public String resolve(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : patterns()) {
+            if (pattern.matches(container)) {
+                return pattern.getPatternString();
+            }
+        }
+        return UNMATCHED;
+    }
+
+    public CostClass cost(String endpoint) {
+        patterns();
+        return costs.getOrDefault(endpoint, CostClass.Cheap);
+    }
+
+    private List<PathPattern> patterns() {
+        List<PathPattern> loaded = patterns;
+        if (loaded == null) {
+            Map<PathPattern, CostClass> mapped = source.get();
+            costs = mapped.entrySet().stream()
+                    .collect(Collectors.toUnmodifiableMap(entry -> entry.getKey().getPatternString(), Map.Entry::getValue, CostClass::max));
+            loaded = mapped.keySet().stream().distinct().sorted(PathPattern.SPECIFICITY_COMPARATOR).toList();
+            patterns = loaded;
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,40 @@
+package org.service.todo.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "todo.admission")
+public class AdmissionProperties {
+
+    private boolean enabled;
+
+    private int maxConcurrency = 200;
+
+    private double scanShare = 0.5;
+
+    private int initialLimit = 20;
+
+    private int minLimit = 2;
+
+    private int maxLimit = 200;
+
+    private double latencyTolerance = 2.0;
+
+    private double backoff = 0.9;
+
+    private Duration latencyFloor = Duration.ofMillis(50);
+
+    private double clientRate = 50;
+
+    private double clientBurst = 100;
+
+    private double tenantRate = 500;
+
+    private double tenantBurst = 1000;
+
+    // share of maxConcurrency the scans of a single tenant may hold
+    private double tenantScanShare = 0.2;
+}
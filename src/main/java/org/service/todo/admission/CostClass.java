@@ -0,0 +1,23 @@
+package org.service.todo.admission;
+
+public enum CostClass {
+    Cheap(1),
+    Scan(10);
+
+    private final int tokens;
+
+    CostClass(int tokens) {
+        this.tokens = tokens;
+    }
+
+    public int tokens() {
+        return tokens;
+    }
+
+    /**
+     * The costlier of the two, for a path whose handlers (one per HTTP method) declare different classes.
+     */
+    public static CostClass max(CostClass first, CostClass second) {
+        return first.compareTo(second) >= 0 ? first : second;
+    }
+}
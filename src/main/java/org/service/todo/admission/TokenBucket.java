@@ -0,0 +1,37 @@
+package org.service.todo.admission;
+
+public class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double capacity, double tokensPerSecond) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes {@code cost} tokens if available.
+     *
+     * @return 0 when admitted, otherwise the nanoseconds until enough tokens will be available
+     */
+    public synchronized long tryConsume(int cost) {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+        if (tokens >= cost) {
+            tokens -= cost;
+            return 0;
+        }
+        return Math.max(1, (long) ((cost - tokens) / tokensPerNano));
+    }
+
+    public synchronized boolean isIdleSince(long nanos) {
+        return lastRefill - nanos < 0;
+    }
+}
@@ -0,0 +1,43 @@
+package org.service.todo.cache;
+
+import org.service.todo.invalidation.Invalidation;
+import org.service.todo.invalidation.InvalidationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the data as seen by one tenant: the sum of a global counter, bumped by changes
+ * that may touch any tenant, and the tenant's own counter. Both only grow, so the sum changes
+ * whenever either does, and a write by one tenant leaves the versions of all others alone.
+ */
+@Component
+public class DataVersion implements InvalidationListener {
+
+    private final AtomicLong global = new AtomicLong();
+    private final Map<String, AtomicLong> byTenant = new ConcurrentHashMap<>();
+
+    public long current(String tenant) {
+        AtomicLong own = byTenant.get(tenant);
+        return global.get() + (own == null ? 0 : own.get());
+    }
+
+    public long bump() {
+        return global.incrementAndGet();
+    }
+
+    public long bump(String tenant) {
+        return byTenant.computeIfAbsent(tenant, t -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public void onInvalidation(Invalidation invalidation) {
+        if (invalidation.tenants().isEmpty()) {
+            bump();
+        } else {
+            invalidation.tenants().forEach(this::bump);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package org.service.todo.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.service.todo.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps ready-to-send list responses in direct buffers, keyed by the normalized query and
+ * validated against the tenant's {@link DataVersion}. Every tenant has its own LRU partition
+ * capped at {@code todo.cache.response.max-bytes-per-tenant}; once the total encoded size goes
+ * over {@code todo.cache.response.max-bytes}, the largest partition gives up its eldest entries,
+ * so a tenant with many large lists cannot push the small ones out of the cache.
+ */
+@Component
+public class EventResponseCache {
+
+    private final DataVersion dataVersion;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final long maxBytes;
+    private final long maxBytesPerTenant;
+    private final boolean gzipEnabled;
+
+    private static final class Partition {
+        final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+        long usedBytes;
+    }
+
+    private final Map<String, Partition> partitions = new HashMap<>();
+    private long usedBytes;
+
+    public EventResponseCache(DataVersion dataVersion, ObjectMapper objectMapper,
+                              MappingJackson2CborHttpMessageConverter cborConverter,
+                              @Value("${todo.cache.response.max-bytes:67108864}") long maxBytes,
+                              @Value("${todo.cache.response.max-bytes-per-tenant:16777216}") long maxBytesPerTenant,
+                              @Value("${todo.cache.response.gzip:true}") boolean gzipEnabled) {
+        this.dataVersion = dataVersion;
+        this.objectMapper = objectMapper;
+        this.cborMapper = cborConverter.getObjectMapper();
+        this.maxBytes = maxBytes;
+        this.maxBytesPerTenant = Math.min(maxBytesPerTenant, maxBytes);
+        this.gzipEnabled = gzipEnabled;
+    }
+
+    public static String key(Object... params) {
+        // statuses are derived from the current date, so yesterday's bytes are never reused
+        StringJoiner key = new StringJoiner("|", LocalDate.now() + "|", "");
+        for (Object param : params) {
+            key.add(param == null ? "" : param.toString());
+        }
+        return key.toString();
+    }
+
+    public static MediaType negotiate(String accept) {
+        if (accept != null) {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            for (MediaType mediaType : mediaTypes) {
+                if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                    return MediaType.APPLICATION_CBOR;
+                }
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return MediaType.APPLICATION_JSON;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * Cached response of the current tenant for {@code key}, loading and caching it on a miss.
+     */
+    public CachedResponse getOrLoad(String key, MediaType mediaType, Supplier<?> loader) {
+        String tenant = TenantContext.current();
+        String typedKey = mediaType.getSubtype() + "|" + key;
+        CachedResponse cached = get(tenant, typedKey);
+        if (cached != null) {
+            return cached;
+        }
+        long version = dataVersion.current(tenant);
+        CachedResponse loaded = encode(version, mediaType, loader.get());
+        if (version == dataVersion.current(tenant)) {
+            put(tenant, typedKey, loaded);
+        }
+        return loaded;
+    }
+
+    public synchronized void clear() {
+        partitions.clear();
+        usedBytes = 0;
+    }
+
+    private synchronized CachedResponse get(String tenant, String key) {
+        Partition partition = partitions.get(tenant);
+        CachedResponse cached = partition == null ? null : partition.entries.get(key);
+        if (cached != null && cached.version != dataVersion.current(tenant)) {
+            partition.entries.remove(key);
+            release(partition, cached.size());
+            return null;
+        }
+        return cached;
+    }
+
+    private synchronized void put(String tenant, String key, CachedResponse response) {
+        if (response.size() > maxBytesPerTenant) {
+            return;
+        }
+        Partition partition = partitions.computeIfAbsent(tenant, t -> new Partition());
+        CachedResponse previous = partition.entries.put(key, response);
+        if (previous != null) {
+            release(partition, previous.size());
+        }
+        partition.usedBytes += response.size();
+        usedBytes += response.size();
+        evict(partition, maxBytesPerTenant);
+        while (usedBytes > maxBytes) {
+            Partition largest = partitions.values().stream().max(Comparator.comparingLong(p -> p.usedBytes)).orElseThrow();
+            evict(largest, largest.usedBytes - (usedBytes - maxBytes));
+        }
+        partitions.values().removeIf(p -> p.entries.isEmpty());
+    }
+
+    private void evict(Partition partition, long limit) {
+        Iterator<Map.Entry<String, CachedResponse>> eldest = partition.entries.entrySet().iterator();
+        while (partition.usedBytes > limit && eldest.hasNext()) {
+            long size = eldest.next().getValue().size();
+            eldest.remove();
+            release(partition, size);
+        }
+    }
+
+    private void release(Partition partition, long size) {
+        partition.usedBytes -= size;
+        usedBytes -= size;
+    }
+
+    private CachedResponse encode(long version, MediaType mediaType, Object body) {
+        ObjectMapper mapper = MediaType.APPLICATION_CBOR.equals(mediaType) ? cborMapper : objectMapper;
+        try {
+            byte[] bytes = mapper.writeValueAsBytes(body);
+            return new CachedResponse(version, mediaType.toString(), toDirect(bytes), gzipEnabled ? toDirect(gzip(bytes)) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    private static ByteBuffer toDirect(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static final class CachedResponse {
+        private final long version;
+        private final String contentType;
+        private final ByteBuffer identity;
+        private final ByteBuffer gzip;
+
+        private CachedResponse(long version, String contentType, ByteBuffer identity, ByteBuffer gzip) {
+            this.version = version;
+            this.contentType = contentType;
+            this.identity = identity;
+            this.gzip = gzip;
+        }
+
+        long size() {
+            return identity.capacity() + (gzip == null ? 0 : gzip.capacity());
+        }
+
+        public void writeTo(HttpServletResponse response, String acceptEncoding) throws IOException {
+            boolean useGzip = gzip != null && acceptsGzip(acceptEncoding);
+            ByteBuffer body = (useGzip ? gzip : identity).duplicate();
+            response.setContentType(contentType);
+            response.setContentLength(body.remaining());
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (useGzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+            response.flushBuffer();
+        }
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows gzip: listed as {@code gzip} (or {@code x-gzip}) with a
+     * non-zero q-value, or covered by {@code *} when gzip is not listed itself.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = qValue(parts) > 0;
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                return accepted;
+            }
+            if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double qValue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && Character.toLowerCase(parameter.charAt(0)) == 'q' && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
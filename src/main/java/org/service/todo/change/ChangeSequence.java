@@ -0,0 +1,18 @@
+package org.service.todo.change;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ChangeSequence {
+
+    private final EntityManager entityManager;
+
+    public ChangeSequence(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public long next() {
+        return ((Number) entityManager.createNativeQuery("select nextval('event_change_seq')").getSingleResult()).longValue();
+    }
+}
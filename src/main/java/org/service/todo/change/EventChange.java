@@ -0,0 +1,39 @@
+package org.service.todo.change;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public record EventChange(Type type, Collection<Long> ids) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        CLEARED
+    }
+
+    public static EventChange created(Long id) {
+        return new EventChange(Type.CREATED, Collections.singletonList(id));
+    }
+
+    public static EventChange updated(Long id) {
+        return new EventChange(Type.UPDATED, Collections.singletonList(id));
+    }
+
+    public static EventChange updated(Collection<Long> ids) {
+        return new EventChange(Type.UPDATED, List.copyOf(ids));
+    }
+
+    public static EventChange deleted(Long id) {
+        return new EventChange(Type.DELETED, Collections.singletonList(id));
+    }
+
+    public static EventChange deleted(Collection<Long> ids) {
+        return new EventChange(Type.DELETED, List.copyOf(ids));
+    }
+
+    public static EventChange cleared() {
+        return new EventChange(Type.CLEARED, List.of());
+    }
+}
@@ -0,0 +1,93 @@
+package org.service.todo.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.service.todo.model.Event;
+import org.service.todo.model.EventDTOAdd;
+import org.service.todo.model.EventDTOEdit;
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Compact binary schema for event payloads: short field keys, {@link LocalDate} as epoch day
+ * and {@link Status}/{@link Priority} as their ordinals. Only used by the CBOR mapper, JSON
+ * keeps its existing shape.
+ */
+public class EventWireModule extends SimpleModule {
+
+    public EventWireModule() {
+        super("EventWireModule");
+        setMixInAnnotation(Event.class, EventWire.class);
+        setMixInAnnotation(EventDTOAdd.class, EventDTOAddWire.class);
+        setMixInAnnotation(EventDTOEdit.class, EventDTOEditWire.class);
+    }
+
+    public static ObjectMapper cborMapper() {
+        return Jackson2ObjectMapperBuilder.cbor()
+                .featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX)
+                .modulesToInstall(new EventWireModule())
+                .build();
+    }
+
+    abstract static class EventWire {
+        @JsonProperty("i") Long id;
+        @JsonProperty("t") String title;
+        @JsonProperty("d") String description;
+        @JsonProperty("dl") @JsonSerialize(using = EpochDaySerializer.class) @JsonDeserialize(using = EpochDayDeserializer.class) LocalDate deadline;
+        @JsonProperty("s") Status status;
+        @JsonProperty("p") Priority priority;
+        @JsonProperty("c") @JsonSerialize(using = EpochDaySerializer.class) @JsonDeserialize(using = EpochDayDeserializer.class) LocalDate createdDate;
+        @JsonProperty("e") @JsonSerialize(using = EpochDaySerializer.class) @JsonDeserialize(using = EpochDayDeserializer.class) LocalDate editDate;
+        @JsonProperty("v") Long changeSeq;
+    }
+
+    abstract static class EventDTOAddWire {
+        @JsonProperty("t") String title;
+        @JsonProperty("d") String description;
+        @JsonProperty("dl") @JsonSerialize(using = EpochDaySerializer.class) @JsonDeserialize(using = EpochDayDeserializer.class) LocalDate deadline;
+        @JsonProperty("p") Priority priority;
+    }
+
+    abstract static class EventDTOEditWire {
+        @JsonProperty("t") String title;
+        @JsonProperty("d") String description;
+        @JsonProperty("dl") @JsonSerialize(using = EpochDaySerializer.class) @JsonDeserialize(using = EpochDayDeserializer.class) LocalDate deadline;
+        @JsonProperty("p") Priority priority;
+    }
+
+    static class EpochDaySerializer extends StdSerializer<LocalDate> {
+        EpochDaySerializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public void serialize(LocalDate value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(value.toEpochDay());
+        }
+    }
+
+    static class EpochDayDeserializer extends StdDeserializer<LocalDate> {
+        EpochDayDeserializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public LocalDate deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return LocalDate.ofEpochDay(parser.getLongValue());
+        }
+    }
+}
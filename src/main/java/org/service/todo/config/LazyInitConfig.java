@@ -0,0 +1,29 @@
+package org.service.todo.config;
+
+import org.service.todo.invalidation.InvalidationBus;
+import org.service.todo.invalidation.InvalidationListener;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+@Configuration
+public class LazyInitConfig {
+
+    /**
+     * Beans kept eager under {@code spring.main.lazy-initialization}: controllers, so the request
+     * path is ready before the first request, and beans whose work starts without a caller,
+     * i.e. scheduled jobs and invalidation listeners.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return (beanName, definition, type) -> type != null && (AnnotatedElementUtils.hasAnnotation(type, RestController.class)
+                || InvalidationBus.class.isAssignableFrom(type)
+                || InvalidationListener.class.isAssignableFrom(type)
+                || !MethodIntrospector.selectMethods(type, (ReflectionUtils.MethodFilter) method -> AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)).isEmpty());
+    }
+}
@@ -0,0 +1,14 @@
+package org.service.todo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(EventWireModule.cborMapper());
+    }
+}
@@ -1,14 +1,35 @@
 package org.service.todo.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.service.todo.admission.AdmissionCost;
+import org.service.todo.admission.CostClass;
+import org.service.todo.cache.EventResponseCache;
+import org.service.todo.history.EventHistory;
+import org.service.todo.history.EventHistoryService;
 import org.service.todo.mapper.EventMapperAdd;
 import org.service.todo.mapper.EventMapperEdit;
 import org.service.todo.model.*;
+import org.service.todo.query.QueryPlanCache;
+import org.service.todo.query.RowSchema;
 import org.service.todo.service.EventService;
+import org.service.todo.specification.EventSpec;
+import org.service.todo.sync.EventSyncPage;
+import org.service.todo.sync.EventSyncService;
+import org.service.todo.tag.TagIndex;
+import org.service.todo.tag.TagQuery;
+import org.service.todo.urgency.UrgencyIndex;
+import org.service.todo.urgency.UrgentEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 public class Controller {
@@ -16,16 +37,35 @@ public class Controller {
     final EventService eventService;
     final EventMapperAdd eventMapperAdd;
     private final EventMapperEdit eventMapperEdit;
+    private final EventResponseCache responseCache;
+    private final EventSyncService eventSyncService;
+    private final EventHistoryService eventHistoryService;
+    private final UrgencyIndex urgencyIndex;
+    private final QueryPlanCache queryPlanCache;
+    private final TagIndex tagIndex;
 
-    public Controller(EventService eventService, EventMapperAdd eventMapperAdd, EventMapperEdit eventMapperEdit) {
+    public Controller(EventService eventService, EventMapperAdd eventMapperAdd, EventMapperEdit eventMapperEdit, EventResponseCache responseCache,
+                      EventSyncService eventSyncService, EventHistoryService eventHistoryService, UrgencyIndex urgencyIndex,
+                      QueryPlanCache queryPlanCache, TagIndex tagIndex) {
         this.eventService = eventService;
         this.eventMapperAdd = eventMapperAdd;
         this.eventMapperEdit = eventMapperEdit;
+        this.responseCache = responseCache;
+        this.eventSyncService = eventSyncService;
+        this.eventHistoryService = eventHistoryService;
+        this.urgencyIndex = urgencyIndex;
+        this.queryPlanCache = queryPlanCache;
+        this.tagIndex = tagIndex;
     }
 
-    @GetMapping("events/get")
-    public List<Event> getEvents(@RequestParam(required = false) String title, @RequestParam(required = false) String description, @RequestParam(required = false) LocalDate deadline, @RequestParam(required = false) Status status, @RequestParam(required = false) Priority priority, @RequestParam(required = false) LocalDate creationDate, @RequestParam(required = false) LocalDate editDate){
-        return eventService.getEvents(title,description,deadline,status,priority,creationDate,editDate);
+    @AdmissionCost(CostClass.Scan)
+    @GetMapping(value = "events/get", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public void getEvents(@RequestParam(required = false) String title, @RequestParam(required = false) String description, @RequestParam(required = false) LocalDate deadline, @RequestParam(required = false) Status status, @RequestParam(required = false) Priority priority, @RequestParam(required = false) LocalDate creationDate, @RequestParam(required = false) LocalDate editDate,
+                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding, HttpServletResponse response) throws IOException {
+        String key = EventResponseCache.key(title, description, deadline, status, priority, creationDate, editDate);
+        responseCache.getOrLoad(key, EventResponseCache.negotiate(accept), () -> eventService.getEvents(title, description, deadline, status, priority, creationDate, editDate))
+                .writeTo(response, acceptEncoding);
     }
 
     @PostMapping("events/create")
@@ -34,8 +74,8 @@ public class Controller {
     }
 
     @PutMapping("events/edit/{id}")
-    public void editEvent(@RequestBody EventDTOEdit eventDTO, @PathVariable long id) {
-        eventService.editEvent(eventMapperEdit.map(eventDTO), id);
+    public Event editEvent(@RequestBody @Valid EventDTOEdit eventDTO, @PathVariable long id) {
+        return eventService.editEvent(eventMapperEdit.map(eventDTO), id);
     }
 
     @DeleteMapping("events/delete/{id}")
@@ -43,23 +83,115 @@ public class Controller {
         eventService.deleteEvent(id);
     }
 
+    @AdmissionCost(CostClass.Scan)
+    @DeleteMapping("events/delete")
+    public long deleteEvents(@RequestParam(required = false) List<Long> ids, @RequestParam(required = false) String title, @RequestParam(required = false) String description, @RequestParam(required = false) LocalDate deadline, @RequestParam(required = false) Status status, @RequestParam(required = false) Priority priority, @RequestParam(required = false) LocalDate creationDate, @RequestParam(required = false) LocalDate editDate) {
+        Specification<Event> filter = EventSpec.filterBy(title, description, deadline, status, priority, creationDate, editDate);
+        if (filter == null) {
+            if (ids == null || ids.isEmpty()) {
+                throw new IllegalArgumentException("At least one filter is required, use events/delete/all to delete everything");
+            }
+            return eventService.deleteEvents(ids);
+        }
+        if (ids != null && !ids.isEmpty()) {
+            filter = filter.and(EventSpec.filterByIds(ids));
+        }
+        return eventService.deleteEvents(filter);
+    }
+
+    @AdmissionCost(CostClass.Scan)
     @DeleteMapping("events/delete/all")
     public void deleteAllEvents() {
         eventService.deleteAllEvents();
     }
 
     @PutMapping("events/markAsComplete/{id}")
-    public void markAsComplete(@PathVariable long id) {
-        eventService.markAsComplete(id);
+    public Event markAsComplete(@PathVariable long id, @RequestParam(defaultValue = "false") boolean subtasks) {
+        return subtasks ? eventService.markTreeAsComplete(id) : eventService.markAsComplete(id);
     }
 
     @PutMapping("events/markAsUnComplete/{id}")
-    public void markAsUnComplete(@PathVariable long id) {
-        eventService.markAsUnComplete(id);
+    public Event markAsUnComplete(@PathVariable long id) {
+        return eventService.markAsUnComplete(id);
     }
 
     @GetMapping("events/getById/{id}")
     public Event getEventById(@PathVariable long id) {
         return eventService.getById(id);
     }
+
+    @AdmissionCost(CostClass.Scan)
+    @GetMapping("events/subtasks/{id}")
+    public List<Event> getSubtasks(@PathVariable long id, @RequestParam(defaultValue = "false") boolean open) {
+        return eventService.getSubtasks(id, open);
+    }
+
+    @AdmissionCost(CostClass.Scan)
+    @GetMapping("events/progress/{id}")
+    public Map<Status, Long> getSubtaskProgress(@PathVariable long id) {
+        return eventService.getSubtaskProgress(id);
+    }
+
+    @PutMapping("events/move/{id}")
+    public Event moveEvent(@PathVariable long id, @RequestParam(required = false) Long parentId) {
+        return eventService.moveEvent(id, parentId);
+    }
+
+    @GetMapping("events/tags/{id}")
+    public List<String> getTags(@PathVariable long id) {
+        return eventService.getTags(id);
+    }
+
+    @PutMapping("events/tags/{id}")
+    public List<String> tagEvent(@PathVariable long id, @RequestBody List<String> tags) {
+        return eventService.tagEvent(id, tags);
+    }
+
+    @GetMapping("events/tags")
+    public Map<String, Integer> getTagCounts() {
+        return tagIndex.tagCounts();
+    }
+
+    @AdmissionCost(CostClass.Scan)
+    @GetMapping("events/tagged")
+    public List<Event> getTaggedEvents(@RequestParam(required = false) List<String> all, @RequestParam(required = false) List<String> any,
+                                       @RequestParam(required = false) List<String> none, @RequestParam(required = false) List<Status> status,
+                                       @RequestParam(required = false) List<Priority> priority, @RequestParam(defaultValue = "0") long after,
+                                       @RequestParam(defaultValue = "100") int limit) {
+        List<Long> ids = tagIndex.find(TagQuery.of(all, any, none, status, priority), after, Math.max(1, Math.min(limit, 1000)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return eventService.findEvents(EventSpec.filterByIds(ids)).stream().sorted(Comparator.comparing(Event::getId)).toList();
+    }
+
+    @GetMapping("events/tagged/count")
+    public int countTaggedEvents(@RequestParam(required = false) List<String> all, @RequestParam(required = false) List<String> any,
+                                 @RequestParam(required = false) List<String> none, @RequestParam(required = false) List<Status> status,
+                                 @RequestParam(required = false) List<Priority> priority) {
+        return tagIndex.count(TagQuery.of(all, any, none, status, priority));
+    }
+
+    @GetMapping("events/urgent")
+    public List<UrgentEvent> getUrgentEvents(@RequestParam(defaultValue = "20") int limit, @RequestParam(required = false) String q) {
+        int k = Math.max(1, Math.min(limit, 1000));
+        return q == null ? urgencyIndex.top(k) : urgencyIndex.top(k, queryPlanCache.plan(q).predicate(RowSchema.URGENT_EVENT));
+    }
+
+    @AdmissionCost(CostClass.Scan)
+    @GetMapping("events/query")
+    public List<Event> queryEvents(@RequestParam String q) {
+        return eventService.findEvents(queryPlanCache.plan(q).getSpecification());
+    }
+
+    @AdmissionCost(CostClass.Scan)
+    @GetMapping("events/sync")
+    public EventSyncPage syncEvents(@RequestParam(defaultValue = "0") long since, @RequestParam(defaultValue = "500") int limit) {
+        return eventSyncService.changesSince(since, Math.max(1, Math.min(limit, 5000)));
+    }
+
+    @GetMapping("events/history/{id}")
+    public List<EventHistory> getEventHistory(@PathVariable long id) {
+        return eventHistoryService.getHistory(id);
+    }
 }
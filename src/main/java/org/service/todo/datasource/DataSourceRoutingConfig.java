@@ -0,0 +1,66 @@
+package org.service.todo.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "todo.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, RoutingProperties routingProperties) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (RoutingProperties.Replica replica : routingProperties.getReplicas()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            dataSource.setPoolName("replica-" + replicas.size());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setAutoCommit(primaryDataSource.isAutoCommit());
+            dataSource.setReadOnly(true);
+            replicas.add(dataSource);
+        }
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicas, routingProperties.getSelection()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "todo.datasource.replica-copy-interval")
+    public H2ReplicaCopier h2ReplicaCopier(HikariDataSource primaryDataSource, RoutingProperties routingProperties) {
+        return new H2ReplicaCopier(primaryDataSource, routingProperties.getReplicas());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(RoutingProperties routingProperties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(routingProperties.getReadYourWritesWindow()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,118 @@
+package org.service.todo.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stands in for replication when the replicas are local H2 databases: copies the schema of the
+ * primary into every replica once and then replaces their rows with the primary's on each
+ * refresh. Every replica is rewritten in one transaction, so readers see either the previous
+ * copy or the new one, and lag behind the primary by up to the refresh interval.
+ */
+@Slf4j
+public class H2ReplicaCopier {
+
+    private final DataSource primary;
+    private final List<RoutingProperties.Replica> replicas;
+
+    private boolean initialized;
+
+    public H2ReplicaCopier(DataSource primary, List<RoutingProperties.Replica> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+    }
+
+    // the read indexes warm up on ApplicationReadyEvent, by then the replicas have a schema
+    @EventListener(ContextRefreshedEvent.class)
+    public void start() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${todo.datasource.replica-copy-interval}")
+    public synchronized void refresh() {
+        try (Connection source = primary.getConnection()) {
+            List<String> tables = tables(source);
+            for (RoutingProperties.Replica replica : replicas) {
+                try (Connection target = DriverManager.getConnection(replica.getUrl(), replica.getUsername(), replica.getPassword())) {
+                    if (!initialized) {
+                        copySchema(source, target);
+                    }
+                    copyRows(source, target, tables);
+                }
+            }
+            initialized = true;
+        } catch (SQLException e) {
+            log.warn("Failed to copy the primary into the replicas", e);
+        }
+    }
+
+    private static List<String> tables(Connection source) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = source.createStatement();
+             ResultSet rows = statement.executeQuery("select table_name from information_schema.tables " +
+                     "where table_schema = 'PUBLIC' and table_type = 'BASE TABLE'")) {
+            while (rows.next()) {
+                tables.add(rows.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    private static void copySchema(Connection source, Connection target) throws SQLException {
+        try (Statement read = source.createStatement();
+             ResultSet script = read.executeQuery("script nodata nopasswords nosettings");
+             Statement write = target.createStatement()) {
+            write.execute("drop all objects");
+            while (script.next()) {
+                String sql = script.getString(1);
+                if (!sql.startsWith("CREATE USER")) {
+                    write.execute(sql);
+                }
+            }
+            // rows are replaced table by table inside one transaction
+            write.execute("set referential_integrity false");
+        }
+    }
+
+    private static void copyRows(Connection source, Connection target, List<String> tables) throws SQLException {
+        target.setAutoCommit(false);
+        try {
+            for (String table : tables) {
+                String name = "\"PUBLIC\".\"" + table + "\"";
+                try (Statement delete = target.createStatement()) {
+                    delete.executeUpdate("delete from " + name);
+                }
+                try (Statement read = source.createStatement();
+                     ResultSet rows = read.executeQuery("select * from " + name)) {
+                    int columns = rows.getMetaData().getColumnCount();
+                    String insert = "insert into " + name + " values (" + "?, ".repeat(columns - 1) + "?)";
+                    try (PreparedStatement write = target.prepareStatement(insert)) {
+                        while (rows.next()) {
+                            for (int i = 1; i <= columns; i++) {
+                                write.setObject(i, rows.getObject(i));
+                            }
+                            write.addBatch();
+                        }
+                        write.executeBatch();
+                    }
+                }
+            }
+            target.commit();
+        } catch (SQLException e) {
+            target.rollback();
+            throw e;
+        }
+    }
+}
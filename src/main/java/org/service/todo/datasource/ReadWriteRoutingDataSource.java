@@ -0,0 +1,74 @@
+package org.service.todo.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a replica and everything else to the primary.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the lookup happens after the transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<DataSource> replicas;
+    private final RoutingProperties.Selection selection;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, RoutingProperties.Selection selection) {
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty() || ReadYourWrites.isPrimaryOnly() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        return selection == RoutingProperties.Selection.LEAST_CONNECTIONS ? leastConnections() : roundRobin();
+    }
+
+    private int roundRobin() {
+        return Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    private int leastConnections() {
+        int best = roundRobin();
+        int bestActive = activeConnections(replicas.get(best));
+        for (int i = 0; i < replicas.size(); i++) {
+            int active = activeConnections(replicas.get(i));
+            if (active < bestActive) {
+                best = i;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool != null) {
+                return pool.getActiveConnections();
+            }
+        }
+        return 0;
+    }
+}
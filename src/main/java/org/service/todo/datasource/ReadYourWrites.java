@@ -0,0 +1,20 @@
+package org.service.todo.datasource;
+
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = ThreadLocal.withInitial(() -> false);
+
+    private ReadYourWrites() {}
+
+    public static boolean isPrimaryOnly() {
+        return PRIMARY_ONLY.get();
+    }
+
+    public static void setPrimaryOnly(boolean primaryOnly) {
+        if (primaryOnly) {
+            PRIMARY_ONLY.set(true);
+        } else {
+            PRIMARY_ONLY.remove();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.service.todo.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pins a client to the primary for a short window after it writes, so it reads its own changes
+ * even while replicas lag. Clients are told apart by {@code X-Client-Id}, or their address.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> primaryUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        String client = clientId(request);
+        long now = System.nanoTime();
+        Long until = primaryUntil.get(client);
+        ReadYourWrites.setPrimaryOnly(until != null && until - now > 0);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.setPrimaryOnly(false);
+            if (isWrite(request)) {
+                if (primaryUntil.size() > CLEANUP_THRESHOLD) {
+                    primaryUntil.values().removeIf(expiry -> expiry - now <= 0);
+                }
+                primaryUntil.put(client, System.nanoTime() + windowNanos);
+            }
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+
+    private static String clientId(HttpServletRequest request) {
+        String header = request.getHeader(CLIENT_ID_HEADER);
+        return header != null ? header : request.getRemoteAddr();
+    }
+}
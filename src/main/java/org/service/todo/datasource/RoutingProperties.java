@@ -0,0 +1,35 @@
+package org.service.todo.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "todo.datasource")
+public class RoutingProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private Selection selection = Selection.ROUND_ROBIN;
+
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+
+    @Data
+    public static class Replica {
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
@@ -34,4 +34,9 @@ public class GlobalExceptionHandler {
     public ResponseEntity<?> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
         return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleIllegalArgument(IllegalArgumentException ex) {
+        return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package org.service.todo.hierarchy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.service.todo.tenant.TenantContext;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Gives events stored before subtasks existed their depth 0 closure row, which makes them roots
+ * that new subtasks can be attached to. A no-op once every event has its row.
+ */
+@Slf4j
+@Component
+public class ClosureBackfill {
+
+    private final EventClosureRepository closureRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ClosureBackfill(EventClosureRepository closureRepository, TransactionTemplate transactionTemplate) {
+        this.closureRepository = closureRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void insertMissingRoots() {
+        // the tenant is bound when the session opens, so root has to be set before the transaction starts
+        Integer inserted = TenantContext.callAsRoot(() -> transactionTemplate.execute(status -> closureRepository.insertMissingRoots()));
+        if (inserted != null && inserted > 0) {
+            log.info("Added closure rows for {} events", inserted);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.service.todo.hierarchy;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One row per ancestor/descendant pair of the subtask tree, including a depth 0 row linking
+ * every event to itself. The primary key serves subtree lookups, the descendant index serves
+ * ancestor lookups.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@IdClass(EventClosure.Key.class)
+@Table(name = "event_closure", indexes = @Index(name = "idx_event_closure_descendant", columnList = "descendant_id, depth"))
+public class EventClosure {
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private int depth;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
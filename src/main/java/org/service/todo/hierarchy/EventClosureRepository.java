@@ -0,0 +1,68 @@
+package org.service.todo.hierarchy;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public interface EventClosureRepository extends JpaRepository<EventClosure, EventClosure.Key> {
+    boolean existsByAncestorIdAndDescendantId(long ancestorId, long descendantId);
+
+    @Query("select c.ancestorId from EventClosure c where c.descendantId = :id")
+    List<Long> findAncestorIds(@Param("id") long id);
+
+    @Query("select c.descendantId from EventClosure c where c.ancestorId in :ids")
+    List<Long> findSubtreeIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("insert into EventClosure (ancestorId, descendantId, depth) values (:id, :id, 0)")
+    int insertRoot(@Param("id") Long id);
+
+    @Modifying
+    @Query("insert into EventClosure (ancestorId, descendantId, depth) " +
+            "select c.ancestorId, :id, c.depth + 1 from EventClosure c where c.descendantId = :parentId")
+    int insertUnder(@Param("id") Long id, @Param("parentId") long parentId);
+
+    /**
+     * Unlinks the subtree of {@code id} from every ancestor of {@code id}, keeping the links
+     * inside the subtree.
+     */
+    @Modifying
+    @Query("delete from EventClosure c where c.descendantId in (select s.descendantId from EventClosure s where s.ancestorId = :id) " +
+            "and c.ancestorId in (select a.ancestorId from EventClosure a where a.descendantId = :id and a.depth > 0)")
+    int detachSubtree(@Param("id") long id);
+
+    /**
+     * Links every node of the subtree of {@code id} to {@code parentId} and its ancestors.
+     */
+    @Modifying
+    @Query("insert into EventClosure (ancestorId, descendantId, depth) select a.ancestorId, s.descendantId, a.depth + s.depth + 1 " +
+            "from EventClosure a, EventClosure s where a.descendantId = :parentId and s.ancestorId = :id")
+    int attachSubtree(@Param("id") long id, @Param("parentId") long parentId);
+
+    /**
+     * Deletes the rows of those ids that are events of the current tenant, so it has to run
+     * before the events themselves are deleted.
+     */
+    @Modifying
+    @Query("delete from EventClosure c where c.descendantId in :ids and exists (select 1 from Event e where e.id = c.descendantId)")
+    int deleteByDescendantIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from EventClosure c where c.descendantId in (select e.id from Event e where e.changeSeq = :changeSeq)")
+    int deleteByDescendantChangeSeq(@Param("changeSeq") long changeSeq);
+
+    @Modifying
+    @Query("delete from EventClosure c where exists (select 1 from Event e where e.id = c.descendantId)")
+    int deleteForTenant();
+
+    @Modifying
+    @Query("insert into EventClosure (ancestorId, descendantId, depth) select e.id, e.id, 0 from Event e " +
+            "where not exists (select 1 from EventClosure c where c.ancestorId = e.id and c.descendantId = e.id)")
+    int insertMissingRoots();
+}
@@ -0,0 +1,10 @@
+package org.service.todo.hierarchy;
+
+import org.service.todo.model.Status;
+
+/**
+ * Subtree rows grouped by stored status, with how many of them are past their deadline or have
+ * none, which is what the listed status is derived from.
+ */
+public record StatusTally(Status status, Long total, Long pastDue, Long undated) {
+}
@@ -0,0 +1,42 @@
+package org.service.todo.history;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.service.todo.model.Status;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "event_history", indexes = @Index(name = "idx_event_history_event_id", columnList = "tenant_id, event_id, recorded_at"))
+public class EventHistory {
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    private HistoryType type;
+
+    @Enumerated(EnumType.STRING)
+    private Status fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    private Status toStatus;
+
+    private String changedFields;
+
+    @Column(name = "recorded_at")
+    private Instant recordedAt;
+
+    @JsonIgnore
+    @Column(name = "tenant_id", length = 64)
+    private String tenantId;
+}
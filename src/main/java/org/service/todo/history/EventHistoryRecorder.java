@@ -0,0 +1,152 @@
+package org.service.todo.history;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.service.todo.model.Status;
+import org.service.todo.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects history entries on the request thread without blocking and writes them in batches
+ * from a single background writer. Entries recorded inside a transaction are only queued once it
+ * commits, so a rolled back change leaves no history. When the queue is full new entries are
+ * dropped and counted rather than slowing the caller down.
+ */
+@Slf4j
+@Component
+public class EventHistoryRecorder {
+
+    private final EventHistoryRepository repository;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration flushInterval;
+
+    private final Queue<EventHistory> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-history-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EventHistoryRecorder(EventHistoryRepository repository,
+                                @Value("${todo.history.queue-capacity:65536}") int capacity,
+                                @Value("${todo.history.batch-size:500}") int batchSize,
+                                @Value("${todo.history.flush-interval:PT0.2S}") Duration flushInterval) {
+        this.repository = repository;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+    }
+
+    @PostConstruct
+    public void start() {
+        long millis = flushInterval.toMillis();
+        writer.scheduleWithFixedDelay(this::flush, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        flush();
+    }
+
+    public void created(Long eventId, Status status) {
+        record(eventId, HistoryType.Created, null, status, null);
+    }
+
+    public void edited(Long eventId, List<String> fields) {
+        if (!fields.isEmpty()) {
+            record(eventId, HistoryType.Edited, null, null, String.join(",", fields));
+        }
+    }
+
+    public void statusChanged(Long eventId, Status from, Status to) {
+        if (from != to) {
+            record(eventId, HistoryType.StatusChanged, from, to, null);
+        }
+    }
+
+    public void deleted(Long eventId, Status status) {
+        record(eventId, HistoryType.Deleted, status, null, null);
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    private void record(Long eventId, HistoryType type, Status from, Status to, String fields) {
+        // the writer thread has no tenant of its own, so it is taken here
+        EventHistory entry = new EventHistory(null, eventId, type, from, to, fields, Instant.now(), TenantContext.current());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(entry);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<EventHistory> pending = (List<EventHistory>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<EventHistory> entries = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.forEach(EventHistoryRecorder.this::enqueue);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EventHistoryRecorder.this);
+                }
+            });
+            pending = entries;
+        }
+        pending.add(entry);
+    }
+
+    private void enqueue(EventHistory entry) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        queue.offer(entry);
+    }
+
+    void flush() {
+        List<EventHistory> batch = new ArrayList<>(batchSize);
+        EventHistory entry;
+        while (true) {
+            while (batch.size() < batchSize && (entry = queue.poll()) != null) {
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            size.addAndGet(-batch.size());
+            try {
+                repository.saveAll(batch);
+            } catch (RuntimeException e) {
+                log.warn("Failed to write {} event history entries", batch.size(), e);
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.service.todo.history;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public interface EventHistoryRepository extends JpaRepository<EventHistory, Long> {
+    List<EventHistory> findByTenantIdAndEventIdOrderByRecordedAtAscIdAsc(String tenantId, Long eventId);
+}
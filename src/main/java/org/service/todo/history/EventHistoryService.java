@@ -0,0 +1,34 @@
+package org.service.todo.history;
+
+import org.service.todo.sync.TombstoneRepository;
+import org.service.todo.tenant.TenantContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class EventHistoryService {
+
+    private final EventHistoryRepository repository;
+    private final TombstoneRepository tombstoneRepository;
+
+    public EventHistoryService(EventHistoryRepository repository, TombstoneRepository tombstoneRepository) {
+        this.repository = repository;
+        this.tombstoneRepository = tombstoneRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventHistory> getHistory(long eventId) {
+        String tenant = TenantContext.current();
+        List<EventHistory> history = new ArrayList<>(repository.findByTenantIdAndEventIdOrderByRecordedAtAscIdAsc(tenant, eventId));
+        boolean deleteRecorded = !history.isEmpty() && history.get(history.size() - 1).getType() == HistoryType.Deleted;
+        if (!deleteRecorded) {
+            // bulk deletes are not recorded per event, their tombstones stand in for them
+            tombstoneRepository.findById(eventId).filter(tombstone -> tenant.equals(tombstone.getTenantId())).ifPresent(tombstone -> history.add(
+                    new EventHistory(null, eventId, HistoryType.Deleted, null, null, null, tombstone.getDeletedAt(), tenant)));
+        }
+        return history;
+    }
+}
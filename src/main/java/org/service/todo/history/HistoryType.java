@@ -0,0 +1,8 @@
+package org.service.todo.history;
+
+public enum HistoryType {
+    Created,
+    Edited,
+    StatusChanged,
+    Deleted
+}
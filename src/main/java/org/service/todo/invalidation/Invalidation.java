@@ -0,0 +1,30 @@
+package org.service.todo.invalidation;
+
+import org.service.todo.change.EventChange;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Ids whose cached state is stale, or everything when {@code all} is set. {@code tenants} names
+ * the tenants the change belongs to; empty means it may touch any tenant. With {@code all} set,
+ * only the data of the named tenants is stale.
+ */
+public record Invalidation(Set<Long> ids, boolean all, Set<String> tenants) {
+
+    public Invalidation(Set<Long> ids, boolean all) {
+        this(ids, all, Set.of());
+    }
+
+    public static Invalidation everything() {
+        return new Invalidation(Set.of(), true);
+    }
+
+    public static Invalidation of(EventChange change, String tenant) {
+        if (change.type() == EventChange.Type.CLEARED) {
+            return new Invalidation(Set.of(), true, Set.of(tenant));
+        }
+        return new Invalidation(change.ids().stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet()), false, Set.of(tenant));
+    }
+}
@@ -0,0 +1,22 @@
+package org.service.todo.invalidation;
+
+import org.service.todo.change.EventChange;
+import org.service.todo.tenant.TenantContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class InvalidationBridge {
+
+    private final InvalidationBus bus;
+
+    public InvalidationBridge(InvalidationBus bus) {
+        this.bus = bus;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(EventChange change) {
+        // after commit still runs on the thread of the change
+        bus.publish(Invalidation.of(change, TenantContext.current()));
+    }
+}
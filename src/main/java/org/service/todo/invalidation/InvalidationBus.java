@@ -0,0 +1,5 @@
+package org.service.todo.invalidation;
+
+public interface InvalidationBus {
+    void publish(Invalidation invalidation);
+}
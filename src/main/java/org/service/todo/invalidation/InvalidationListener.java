@@ -0,0 +1,5 @@
+package org.service.todo.invalidation;
+
+public interface InvalidationListener {
+    void onInvalidation(Invalidation invalidation);
+}
@@ -0,0 +1,40 @@
+package org.service.todo.invalidation;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "event_invalidation", indexes = @Index(name = "idx_event_invalidation_created_at", columnList = "created_at"))
+public class InvalidationRecord {
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String nodeId;
+
+    @Column(length = 4000)
+    private String eventIds;
+
+    // stamped by the database, so every node compares it against the same clock
+    @CreationTimestamp(source = SourceType.DB)
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // comma-separated, null when the change may touch any tenant
+    @Column(length = 4000)
+    private String tenants;
+
+    public InvalidationRecord(Long id, String nodeId, String eventIds, Instant createdAt) {
+        this(id, nodeId, eventIds, createdAt, null);
+    }
+}
@@ -0,0 +1,24 @@
+package org.service.todo.invalidation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Component
+public interface InvalidationRecordRepository extends JpaRepository<InvalidationRecord, Long> {
+    List<InvalidationRecord> findByCreatedAtGreaterThanOrderByIdAsc(Instant createdAt);
+
+    @Query("select max(r.createdAt) from InvalidationRecord r")
+    Instant latestCreatedAt();
+
+    @Transactional
+    @Modifying
+    @Query("delete from InvalidationRecord r where r.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
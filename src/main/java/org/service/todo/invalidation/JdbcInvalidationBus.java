@@ -0,0 +1,170 @@
+package org.service.todo.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Broadcasts invalidations through the shared database. Local listeners are notified at once;
+ * changes are coalesced for {@code todo.invalidation.coalesce-window} into a single row, and
+ * other nodes pick rows up by polling, so every node converges within roughly
+ * coalesce window + poll interval. Rows are stamped and compared in database time, so skewed
+ * node clocks cannot make the poller skip rows.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "todo.invalidation.bus", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcInvalidationBus implements InvalidationBus {
+
+    private final InvalidationRecordRepository repository;
+    private final List<InvalidationListener> listeners;
+    private final int maxIdsPerRecord;
+    private final int maxTenantsPerRecord;
+    private final Duration commitGrace;
+    private final Duration retention;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private Set<Long> pendingIds = new HashSet<>();
+    private boolean pendingAll;
+    // null once any pending change may touch every tenant
+    private Set<String> pendingTenants = new HashSet<>();
+
+    // rows may commit out of id order, so the poller re-reads a grace window and skips rows it has seen
+    private final Map<Long, Instant> seen = new HashMap<>();
+    // database time, starting at the newest row seen by the first poll
+    private Instant highWaterMark;
+
+    public JdbcInvalidationBus(InvalidationRecordRepository repository, List<InvalidationListener> listeners,
+                               @Value("${todo.invalidation.max-ids-per-record:200}") int maxIdsPerRecord,
+                               @Value("${todo.invalidation.max-tenants-per-record:50}") int maxTenantsPerRecord,
+                               @Value("${todo.invalidation.commit-grace:PT5S}") Duration commitGrace,
+                               @Value("${todo.invalidation.retention:PT10M}") Duration retention) {
+        this.repository = repository;
+        this.listeners = listeners;
+        this.maxIdsPerRecord = maxIdsPerRecord;
+        this.maxTenantsPerRecord = maxTenantsPerRecord;
+        this.commitGrace = commitGrace;
+        this.retention = retention;
+    }
+
+    @Override
+    public void publish(Invalidation invalidation) {
+        deliver(invalidation);
+        synchronized (this) {
+            // like ids, too many tenants widen the record to any tenant so it fits the column
+            if (invalidation.tenants().isEmpty()) {
+                pendingTenants = null;
+            } else if (pendingTenants != null) {
+                pendingTenants.addAll(invalidation.tenants());
+                if (pendingTenants.size() > maxTenantsPerRecord) {
+                    pendingTenants = null;
+                }
+            }
+            if (invalidation.all() || pendingIds.size() + invalidation.ids().size() > maxIdsPerRecord) {
+                pendingAll = true;
+                pendingIds.clear();
+            } else if (!pendingAll) {
+                pendingIds.addAll(invalidation.ids());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.invalidation.coalesce-window:PT0.1S}")
+    public void flush() {
+        Set<Long> ids;
+        boolean all;
+        Set<String> tenants;
+        synchronized (this) {
+            if (!pendingAll && pendingIds.isEmpty()) {
+                return;
+            }
+            ids = pendingIds;
+            all = pendingAll;
+            tenants = pendingTenants;
+            pendingIds = new HashSet<>();
+            pendingAll = false;
+            pendingTenants = new HashSet<>();
+        }
+        String eventIds = all ? null : ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String tenantList = tenants == null || tenants.isEmpty() ? null : String.join(",", tenants);
+        repository.save(new InvalidationRecord(null, nodeId, eventIds, null, tenantList));
+    }
+
+    @Scheduled(fixedDelayString = "${todo.invalidation.poll-interval:PT1S}")
+    public synchronized void poll() {
+        if (highWaterMark == null) {
+            Instant latest = repository.latestCreatedAt();
+            highWaterMark = latest == null ? Instant.EPOCH : latest;
+        }
+        Instant since = highWaterMark.minus(commitGrace);
+        Set<Long> ids = new HashSet<>();
+        boolean all = false;
+        Set<String> tenants = new HashSet<>();
+        boolean anyTenant = false;
+        for (InvalidationRecord record : repository.findByCreatedAtGreaterThanOrderByIdAsc(since)) {
+            if (seen.putIfAbsent(record.getId(), record.getCreatedAt()) != null) {
+                continue;
+            }
+            if (record.getCreatedAt().isAfter(highWaterMark)) {
+                highWaterMark = record.getCreatedAt();
+            }
+            if (nodeId.equals(record.getNodeId())) {
+                continue;
+            }
+            if (record.getTenants() == null) {
+                anyTenant = true;
+            } else {
+                tenants.addAll(Arrays.asList(record.getTenants().split(",")));
+            }
+            if (record.getEventIds() == null) {
+                all = true;
+            } else if (!record.getEventIds().isEmpty()) {
+                Arrays.stream(record.getEventIds().split(",")).map(Long::valueOf).forEach(ids::add);
+            }
+        }
+        Iterator<Instant> createdAt = seen.values().iterator();
+        while (createdAt.hasNext()) {
+            if (createdAt.next().isBefore(since)) {
+                createdAt.remove();
+            }
+        }
+        Set<String> scope = anyTenant ? Set.of() : Set.copyOf(tenants);
+        if (all) {
+            deliver(new Invalidation(Set.of(), true, scope));
+        } else if (!ids.isEmpty()) {
+            deliver(new Invalidation(Set.copyOf(ids), false, scope));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.invalidation.retention:PT10M}")
+    public void cleanup() {
+        Instant latest = repository.latestCreatedAt();
+        if (latest != null) {
+            repository.deleteOlderThan(latest.minus(retention));
+        }
+    }
+
+    private void deliver(Invalidation invalidation) {
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidation(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation listener {} failed", listener, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.service.todo.invalidation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "todo.invalidation.bus", havingValue = "loopback")
+public class LoopbackInvalidationBus implements InvalidationBus {
+
+    private final List<InvalidationListener> listeners;
+
+    public LoopbackInvalidationBus(List<InvalidationListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public void publish(Invalidation invalidation) {
+        listeners.forEach(listener -> listener.onInvalidation(invalidation));
+    }
+}
@@ -1,11 +1,14 @@
 package org.service.todo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.TenantId;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,10 +20,17 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "event")
+@SQLRestriction("deleted = false")
+@Table(name = "event", indexes = {
+        @Index(name = "idx_event_change_seq", columnList = "tenant_id, change_seq"),
+        @Index(name = "idx_event_tenant", columnList = "tenant_id, id"),
+        // reminders scan deadlines across tenants
+        @Index(name = "idx_event_deadline", columnList = "deadline, id")
+})
 public class Event {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -44,4 +54,23 @@ public class Event {
 
     @LastModifiedDate
     private LocalDate editDate;
+
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean deleted;
+
+    /**
+     * Owner of the event. Hibernate stamps it on insert and restricts every query to the
+     * tenant of the current request, see {@link org.service.todo.tenant.TenantContext}.
+     */
+    @TenantId
+    @JsonIgnore
+    @Column(name = "tenant_id", length = 64, nullable = false, updatable = false, columnDefinition = "varchar(64) default 'default'")
+    private String tenantId;
 }
@@ -4,10 +4,12 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class EventDTOAdd {
     @NotNull
@@ -19,4 +21,10 @@ public class EventDTOAdd {
     private LocalDate deadline;
 
     private Priority priority;
+
+    private Long parentId;
+
+    public EventDTOAdd(String title, String description, LocalDate deadline, Priority priority) {
+        this(title, description, deadline, priority, null);
+    }
 }
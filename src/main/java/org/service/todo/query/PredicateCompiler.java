@@ -0,0 +1,273 @@
+package org.service.todo.query;
+
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Compiles a {@link QueryNode} into an in-memory predicate. Sibling conditions are fused
+ * before compiling: enum conditions on the same field become one ordinal mask, and range
+ * conditions on the same number or date field under an {@code and} become one closed interval.
+ * The resulting tree reads fields through plain accessors and allocates nothing per row.
+ */
+public final class PredicateCompiler {
+
+    private static final long NULL_KEY = Long.MIN_VALUE;
+
+    private PredicateCompiler() {
+    }
+
+    @FunctionalInterface
+    private interface KeyReader<T> {
+        long read(T row);
+    }
+
+    public static <T> Predicate<T> compile(QueryNode node, RowSchema<T> schema) {
+        return switch (node) {
+            case QueryNode.And and -> fuse(flatten(and.children(), true), schema, true);
+            case QueryNode.Or or -> fuse(flatten(or.children(), false), schema, false);
+            default -> leaf(node, schema);
+        };
+    }
+
+    private static List<QueryNode> flatten(List<QueryNode> children, boolean and) {
+        List<QueryNode> flat = new ArrayList<>();
+        for (QueryNode child : children) {
+            if (and && child instanceof QueryNode.And nested) {
+                flat.addAll(flatten(nested.children(), true));
+            } else if (!and && child instanceof QueryNode.Or nested) {
+                flat.addAll(flatten(nested.children(), false));
+            } else {
+                flat.add(child);
+            }
+        }
+        return flat;
+    }
+
+    private static <T> Predicate<T> fuse(List<QueryNode> children, RowSchema<T> schema, boolean and) {
+        Map<QueryField, boolean[]> masks = new EnumMap<>(QueryField.class);
+        Map<QueryField, long[]> ranges = new EnumMap<>(QueryField.class);
+        List<Predicate<T>> rest = new ArrayList<>();
+        for (QueryNode child : children) {
+            boolean[] mask = mask(child);
+            long[] range = and ? range(child) : null;
+            if (mask != null) {
+                QueryField field = field(child);
+                masks.merge(field, mask, (left, right) -> combine(left, right, and));
+            } else if (range != null) {
+                ranges.merge(field(child), range, (left, right) -> new long[]{Math.max(left[0], right[0]), Math.min(left[1], right[1])});
+            } else {
+                rest.add(compile(child, schema));
+            }
+        }
+        List<Predicate<T>> predicates = new ArrayList<>();
+        masks.forEach((field, mask) -> predicates.add(maskPredicate(field, mask, schema)));
+        ranges.forEach((field, range) -> predicates.add(rangePredicate(keyReader(field, schema), range[0], range[1])));
+        predicates.addAll(rest);
+        if (predicates.size() == 1) {
+            return predicates.get(0);
+        }
+        @SuppressWarnings("unchecked")
+        Predicate<T>[] parts = predicates.toArray(new Predicate[0]);
+        if (and) {
+            return row -> {
+                for (Predicate<T> part : parts) {
+                    if (!part.test(row)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+        return row -> {
+            for (Predicate<T> part : parts) {
+                if (part.test(row)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static <T> Predicate<T> leaf(QueryNode node, RowSchema<T> schema) {
+        boolean[] mask = mask(node);
+        if (mask != null) {
+            return maskPredicate(field(node), mask, schema);
+        }
+        long[] range = range(node);
+        if (range != null) {
+            return rangePredicate(keyReader(field(node), schema), range[0], range[1]);
+        }
+        return switch (node) {
+            case QueryNode.IsNull isNull -> {
+                Function<T, Object> accessor = schema.accessor(isNull.field());
+                yield isNull.negated() ? row -> accessor.apply(row) != null : row -> accessor.apply(row) == null;
+            }
+            case QueryNode.In in when in.field().getKind() == QueryField.Kind.Text -> {
+                Function<T, String> accessor = schema.accessor(in.field());
+                Set<Object> values = Set.copyOf(in.values());
+                boolean negated = in.negated();
+                yield row -> {
+                    String value = accessor.apply(row);
+                    return value != null && values.contains(value) != negated;
+                };
+            }
+            case QueryNode.In in -> {
+                KeyReader<T> reader = keyReader(in.field(), schema);
+                long[] keys = in.values().stream().mapToLong(PredicateCompiler::key).sorted().distinct().toArray();
+                boolean negated = in.negated();
+                yield row -> {
+                    long key = reader.read(row);
+                    return key != NULL_KEY && (Arrays.binarySearch(keys, key) >= 0) != negated;
+                };
+            }
+            case QueryNode.Compare compare when compare.field().getKind() == QueryField.Kind.Text -> text(compare, schema);
+            case QueryNode.Compare compare -> {
+                // only != is left for ordered fields, everything else became a range
+                KeyReader<T> reader = keyReader(compare.field(), schema);
+                long excluded = key(compare.value());
+                yield row -> {
+                    long key = reader.read(row);
+                    return key != NULL_KEY && key != excluded;
+                };
+            }
+            default -> compile(node, schema);
+        };
+    }
+
+    private static <T> Predicate<T> text(QueryNode.Compare compare, RowSchema<T> schema) {
+        Function<T, String> accessor = schema.accessor(compare.field());
+        String expected = (String) compare.value();
+        return switch (compare.operator()) {
+            case Eq -> row -> expected.equals(accessor.apply(row));
+            case Ne -> row -> {
+                String value = accessor.apply(row);
+                return value != null && !expected.equals(value);
+            };
+            case Contains -> row -> {
+                String value = accessor.apply(row);
+                return value != null && value.contains(expected);
+            };
+            case NotContains -> row -> {
+                String value = accessor.apply(row);
+                return value != null && !value.contains(expected);
+            };
+            default -> throw new IllegalArgumentException(compare.operator().getSymbol() + " does not apply to " + compare.field());
+        };
+    }
+
+    private static <T> Predicate<T> maskPredicate(QueryField field, boolean[] mask, RowSchema<T> schema) {
+        Function<T, Enum<?>> accessor = schema.accessor(field);
+        return row -> {
+            Enum<?> value = accessor.apply(row);
+            return value != null && mask[value.ordinal()];
+        };
+    }
+
+    private static <T> Predicate<T> rangePredicate(KeyReader<T> reader, long low, long high) {
+        return row -> {
+            long key = reader.read(row);
+            return key != NULL_KEY && key >= low && key <= high;
+        };
+    }
+
+    private static <T> KeyReader<T> keyReader(QueryField field, RowSchema<T> schema) {
+        if (field.getKind() == QueryField.Kind.Date) {
+            Function<T, LocalDate> accessor = schema.accessor(field);
+            return row -> {
+                LocalDate value = accessor.apply(row);
+                return value == null ? NULL_KEY : value.toEpochDay();
+            };
+        }
+        Function<T, Long> accessor = schema.accessor(field);
+        return row -> {
+            Long value = accessor.apply(row);
+            return value == null ? NULL_KEY : value;
+        };
+    }
+
+    /**
+     * Ordinal mask of an enum leaf, or {@code null} when the node is not an enum condition.
+     */
+    static boolean[] mask(QueryNode node) {
+        QueryField field = field(node);
+        if (field == null || (field.getKind() != QueryField.Kind.Status && field.getKind() != QueryField.Kind.Priority)) {
+            return null;
+        }
+        int size = field.getKind() == QueryField.Kind.Status ? Status.values().length : Priority.values().length;
+        boolean[] mask = new boolean[size];
+        switch (node) {
+            case QueryNode.In in -> {
+                Arrays.fill(mask, in.negated());
+                in.values().forEach(value -> mask[((Enum<?>) value).ordinal()] = !in.negated());
+            }
+            case QueryNode.Compare compare -> {
+                int ordinal = ((Enum<?>) compare.value()).ordinal();
+                for (int i = 0; i < size; i++) {
+                    mask[i] = switch (compare.operator()) {
+                        case Eq -> i == ordinal;
+                        case Ne -> i != ordinal;
+                        case Lt -> i < ordinal;
+                        case Le -> i <= ordinal;
+                        case Gt -> i > ordinal;
+                        case Ge -> i >= ordinal;
+                        default -> throw new IllegalArgumentException(compare.operator().getSymbol() + " does not apply to " + field);
+                    };
+                }
+            }
+            default -> {
+                return null;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Closed key interval of a range leaf on a number or date field, or {@code null}.
+     */
+    static long[] range(QueryNode node) {
+        if (!(node instanceof QueryNode.Compare compare)
+                || (compare.field().getKind() != QueryField.Kind.Number && compare.field().getKind() != QueryField.Kind.Date)) {
+            return null;
+        }
+        long key = key(compare.value());
+        return switch (compare.operator()) {
+            case Eq -> new long[]{key, key};
+            case Lt -> new long[]{NULL_KEY + 1, key - 1};
+            case Le -> new long[]{NULL_KEY + 1, key};
+            case Gt -> new long[]{key + 1, Long.MAX_VALUE};
+            case Ge -> new long[]{key, Long.MAX_VALUE};
+            default -> null;
+        };
+    }
+
+    private static QueryField field(QueryNode node) {
+        return switch (node) {
+            case QueryNode.Compare compare -> compare.field();
+            case QueryNode.In in -> in.field();
+            case QueryNode.IsNull isNull -> isNull.field();
+            default -> null;
+        };
+    }
+
+    private static boolean[] combine(boolean[] left, boolean[] right, boolean and) {
+        boolean[] combined = new boolean[left.length];
+        for (int i = 0; i < combined.length; i++) {
+            combined[i] = and ? left[i] && right[i] : left[i] || right[i];
+        }
+        return combined;
+    }
+
+    private static long key(Object value) {
+        return value instanceof LocalDate date ? date.toEpochDay() : (Long) value;
+    }
+}
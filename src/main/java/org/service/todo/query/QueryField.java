@@ -0,0 +1,51 @@
+package org.service.todo.query;
+
+import java.util.Locale;
+
+public enum QueryField {
+    id("id", Kind.Number),
+    title("title", Kind.Text),
+    description("description", Kind.Text),
+    deadline("deadline", Kind.Date),
+    status("status", Kind.Status),
+    priority("priority", Kind.Priority),
+    createdDate("createdDate", Kind.Date),
+    editDate("editDate", Kind.Date);
+
+    public enum Kind {
+        Number,
+        Text,
+        Date,
+        Status,
+        Priority
+    }
+
+    private final String attribute;
+    private final Kind kind;
+
+    QueryField(String attribute, Kind kind) {
+        this.attribute = attribute;
+        this.kind = kind;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    static QueryField of(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (QueryField field : values()) {
+            if (field.name().toLowerCase(Locale.ROOT).equals(lower)) {
+                return field;
+            }
+        }
+        if (lower.equals("creationdate")) {
+            return createdDate;
+        }
+        throw new IllegalArgumentException("Unknown field '" + name + "'");
+    }
+}
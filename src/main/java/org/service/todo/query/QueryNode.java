@@ -0,0 +1,77 @@
+package org.service.todo.query;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Parsed filter expression. Negations are pushed down to the leaves while parsing, so a leaf
+ * never matches a missing value, the same as SQL comparisons against NULL.
+ */
+public sealed interface QueryNode {
+
+    QueryNode negate();
+
+    private static String literal(Object value) {
+        return value instanceof String text ? "'" + text.replace("'", "''") + "'" : String.valueOf(value);
+    }
+
+    record And(List<QueryNode> children) implements QueryNode {
+        @Override
+        public QueryNode negate() {
+            return new Or(children.stream().map(QueryNode::negate).toList());
+        }
+
+        @Override
+        public String toString() {
+            return children.stream().map(QueryNode::toString).collect(Collectors.joining(" and ", "(", ")"));
+        }
+    }
+
+    record Or(List<QueryNode> children) implements QueryNode {
+        @Override
+        public QueryNode negate() {
+            return new And(children.stream().map(QueryNode::negate).toList());
+        }
+
+        @Override
+        public String toString() {
+            return children.stream().map(QueryNode::toString).collect(Collectors.joining(" or ", "(", ")"));
+        }
+    }
+
+    record Compare(QueryField field, QueryOperator operator, Object value) implements QueryNode {
+        @Override
+        public QueryNode negate() {
+            return new Compare(field, operator.negate(), value);
+        }
+
+        @Override
+        public String toString() {
+            return field + " " + operator.getSymbol() + " " + literal(value);
+        }
+    }
+
+    record In(QueryField field, List<?> values, boolean negated) implements QueryNode {
+        @Override
+        public QueryNode negate() {
+            return new In(field, values, !negated);
+        }
+
+        @Override
+        public String toString() {
+            return field + (negated ? " not in " : " in ") + values.stream().map(QueryNode::literal).collect(Collectors.joining(", ", "(", ")"));
+        }
+    }
+
+    record IsNull(QueryField field, boolean negated) implements QueryNode {
+        @Override
+        public QueryNode negate() {
+            return new IsNull(field, !negated);
+        }
+
+        @Override
+        public String toString() {
+            return field + (negated ? " is not null" : " is null");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.service.todo.query;
+
+public enum QueryOperator {
+    Eq("="),
+    Ne("!="),
+    Lt("<"),
+    Le("<="),
+    Gt(">"),
+    Ge(">="),
+    Contains("contains"),
+    NotContains("not contains");
+
+    private final String symbol;
+
+    QueryOperator(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    QueryOperator negate() {
+        return switch (this) {
+            case Eq -> Ne;
+            case Ne -> Eq;
+            case Lt -> Ge;
+            case Le -> Gt;
+            case Gt -> Le;
+            case Ge -> Lt;
+            case Contains -> NotContains;
+            case NotContains -> Contains;
+        };
+    }
+}
@@ -0,0 +1,310 @@
+package org.service.todo.query;
+
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Recursive descent parser for filter expressions such as
+ * {@code status in (Overdue, Active) and priority >= High and deadline < 2026-11-01}.
+ * <pre>
+ * expr       := term ('or' term)*
+ * term       := factor ('and' factor)*
+ * factor     := 'not' factor | '(' expr ')' | comparison
+ * comparison := field op value | field ['not'] 'in' '(' value (',' value)* ')'
+ *             | field ['not'] 'contains' text | field 'is' ['not'] 'null'
+ * op         := '=' | '!=' | '&lt;' | '&lt;=' | '&gt;' | '&gt;='
+ * </pre>
+ * Keywords, field names and enum constants are case-insensitive; text values are single-quoted
+ * with {@code ''} as the escaped quote. Expressions are limited to {@value #MAX_LENGTH} characters
+ * and {@value #MAX_DEPTH} levels of {@code not} and parentheses, so the recursion stays bounded.
+ */
+public final class QueryParser {
+
+    enum TokenType {
+        Word,
+        Text,
+        Number,
+        Date,
+        Symbol
+    }
+
+    record Token(TokenType type, String text) {
+        @Override
+        public String toString() {
+            return type == TokenType.Text ? "'" + text.replace("'", "''") + "'" : text;
+        }
+    }
+
+    static final int MAX_LENGTH = 4096;
+    static final int MAX_DEPTH = 32;
+
+    private final List<Token> tokens;
+    private int position;
+    private int depth;
+
+    private QueryParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Canonical form of the expression text: tokens separated by single spaces, words lower-cased.
+     * Two expressions with the same normalized text parse to the same tree.
+     */
+    public static String normalize(String expression) {
+        StringBuilder normalized = new StringBuilder();
+        for (Token token : tokenize(expression)) {
+            if (!normalized.isEmpty()) {
+                normalized.append(' ');
+            }
+            normalized.append(token);
+        }
+        return normalized.toString();
+    }
+
+    public static QueryNode parse(String expression) {
+        QueryParser parser = new QueryParser(tokenize(expression));
+        QueryNode node = parser.expression();
+        if (parser.position != parser.tokens.size()) {
+            throw parser.error("Unexpected '" + parser.tokens.get(parser.position) + "'");
+        }
+        return node;
+    }
+
+    static List<Token> tokenize(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Empty filter expression");
+        }
+        if (expression.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Filter expression is longer than " + MAX_LENGTH + " characters");
+        }
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        int length = expression.length();
+        while (i < length) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'') {
+                StringBuilder text = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        throw new IllegalArgumentException("Unterminated text value in filter expression");
+                    }
+                    char next = expression.charAt(i++);
+                    if (next == '\'') {
+                        if (i < length && expression.charAt(i) == '\'') {
+                            text.append('\'');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        text.append(next);
+                    }
+                }
+                tokens.add(new Token(TokenType.Text, text.toString()));
+            } else if (Character.isDigit(c)) {
+                int start = i;
+                while (i < length && (Character.isDigit(expression.charAt(i)) || expression.charAt(i) == '-')) {
+                    i++;
+                }
+                String value = expression.substring(start, i);
+                tokens.add(new Token(value.indexOf('-') > 0 ? TokenType.Date : TokenType.Number, value));
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < length && (Character.isLetterOrDigit(expression.charAt(i)) || expression.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(new Token(TokenType.Word, expression.substring(start, i).toLowerCase(Locale.ROOT)));
+            } else if (c == '(' || c == ')' || c == ',' || c == '=') {
+                tokens.add(new Token(TokenType.Symbol, String.valueOf(c)));
+                i++;
+            } else if (c == '<' || c == '>' || c == '!') {
+                boolean withEquals = i + 1 < length && expression.charAt(i + 1) == '=';
+                if (c == '!' && !withEquals) {
+                    throw new IllegalArgumentException("Unexpected '!' in filter expression, use != or not");
+                }
+                tokens.add(new Token(TokenType.Symbol, withEquals ? c + "=" : String.valueOf(c)));
+                i += withEquals ? 2 : 1;
+            } else {
+                throw new IllegalArgumentException("Unexpected '" + c + "' in filter expression");
+            }
+        }
+        return tokens;
+    }
+
+    private QueryNode expression() {
+        List<QueryNode> terms = new ArrayList<>();
+        terms.add(term());
+        while (acceptWord("or")) {
+            terms.add(term());
+        }
+        return terms.size() == 1 ? terms.get(0) : new QueryNode.Or(List.copyOf(terms));
+    }
+
+    private QueryNode term() {
+        List<QueryNode> factors = new ArrayList<>();
+        factors.add(factor());
+        while (acceptWord("and")) {
+            factors.add(factor());
+        }
+        return factors.size() == 1 ? factors.get(0) : new QueryNode.And(List.copyOf(factors));
+    }
+
+    private QueryNode factor() {
+        if (acceptWord("not")) {
+            descend();
+            QueryNode node = factor().negate();
+            depth--;
+            return node;
+        }
+        if (acceptSymbol("(")) {
+            descend();
+            QueryNode node = expression();
+            expectSymbol(")");
+            depth--;
+            return node;
+        }
+        return comparison();
+    }
+
+    private void descend() {
+        if (++depth > MAX_DEPTH) {
+            throw error("Filter expression is nested deeper than " + MAX_DEPTH + " levels");
+        }
+    }
+
+    private QueryNode comparison() {
+        Token name = next();
+        if (name.type() != TokenType.Word) {
+            throw error("Expected a field name but found '" + name + "'");
+        }
+        QueryField field = QueryField.of(name.text());
+        if (acceptWord("is")) {
+            boolean negated = acceptWord("not");
+            expectWord("null");
+            return new QueryNode.IsNull(field, negated);
+        }
+        boolean negated = acceptWord("not");
+        if (acceptWord("in")) {
+            expectSymbol("(");
+            List<Object> values = new ArrayList<>();
+            do {
+                values.add(value(field, next()));
+            } while (acceptSymbol(","));
+            expectSymbol(")");
+            return new QueryNode.In(field, List.copyOf(values), negated);
+        }
+        if (acceptWord("contains")) {
+            if (field.getKind() != QueryField.Kind.Text) {
+                throw error("contains only applies to text fields, not " + field);
+            }
+            return new QueryNode.Compare(field, negated ? QueryOperator.NotContains : QueryOperator.Contains, value(field, next()));
+        }
+        if (negated) {
+            throw error("Expected in or contains after not");
+        }
+        QueryOperator operator = operator(next());
+        boolean ordered = operator != QueryOperator.Eq && operator != QueryOperator.Ne;
+        if (ordered && (field.getKind() == QueryField.Kind.Text || field.getKind() == QueryField.Kind.Status)) {
+            throw error(operator.getSymbol() + " does not apply to " + field);
+        }
+        return new QueryNode.Compare(field, operator, value(field, next()));
+    }
+
+    private QueryOperator operator(Token token) {
+        if (token.type() == TokenType.Symbol) {
+            for (QueryOperator operator : QueryOperator.values()) {
+                if (operator.getSymbol().equals(token.text())) {
+                    return operator;
+                }
+            }
+        }
+        throw error("Expected a comparison operator but found '" + token + "'");
+    }
+
+    private Object value(QueryField field, Token token) {
+        try {
+            return switch (field.getKind()) {
+                case Number -> {
+                    require(token, TokenType.Number, field);
+                    yield Long.valueOf(token.text());
+                }
+                case Text -> {
+                    require(token, TokenType.Text, field);
+                    yield token.text();
+                }
+                case Date -> {
+                    require(token, TokenType.Date, field);
+                    yield LocalDate.parse(token.text());
+                }
+                case Status -> constant(Status.class, token, field);
+                case Priority -> constant(Priority.class, token, field);
+            };
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw error("Invalid value '" + token + "' for " + field);
+        }
+    }
+
+    private <E extends Enum<E>> E constant(Class<E> type, Token token, QueryField field) {
+        require(token, TokenType.Word, field);
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(token.text())) {
+                return constant;
+            }
+        }
+        throw error("Invalid value '" + token + "' for " + field);
+    }
+
+    private void require(Token token, TokenType type, QueryField field) {
+        if (token.type() != type) {
+            throw error("Invalid value '" + token + "' for " + field);
+        }
+    }
+
+    private Token next() {
+        if (position >= tokens.size()) {
+            throw error("Unexpected end of filter expression");
+        }
+        return tokens.get(position++);
+    }
+
+    private boolean acceptWord(String word) {
+        return accept(TokenType.Word, word);
+    }
+
+    private boolean acceptSymbol(String symbol) {
+        return accept(TokenType.Symbol, symbol);
+    }
+
+    private boolean accept(TokenType type, String text) {
+        if (position < tokens.size() && tokens.get(position).type() == type && tokens.get(position).text().equals(text)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectWord(String word) {
+        if (!acceptWord(word)) {
+            throw error("Expected '" + word + "'");
+        }
+    }
+
+    private void expectSymbol(String symbol) {
+        if (!acceptSymbol(symbol)) {
+            throw error("Expected '" + symbol + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at token " + (position + 1) + " of filter expression");
+    }
+}
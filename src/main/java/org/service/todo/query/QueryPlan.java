@@ -0,0 +1,39 @@
+package org.service.todo.query;
+
+import org.service.todo.model.Event;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+public final class QueryPlan {
+
+    private final String expression;
+    private final QueryNode root;
+    private final Specification<Event> specification;
+    private final Map<RowSchema<?>, Predicate<?>> predicates = new ConcurrentHashMap<>();
+
+    QueryPlan(String expression, QueryNode root) {
+        this.expression = expression;
+        this.root = root;
+        this.specification = SpecificationCompiler.compile(root);
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public QueryNode getRoot() {
+        return root;
+    }
+
+    public Specification<Event> getSpecification() {
+        return specification;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Predicate<T> predicate(RowSchema<T> schema) {
+        return (Predicate<T>) predicates.computeIfAbsent(schema, s -> PredicateCompiler.compile(root, schema));
+    }
+}
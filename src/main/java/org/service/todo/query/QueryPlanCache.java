@@ -0,0 +1,41 @@
+package org.service.todo.query;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parsed and compiled filter expressions, keyed by their normalized text so spacing and case
+ * differences share one plan. Least recently used plans are evicted past the configured size.
+ */
+@Component
+public class QueryPlanCache {
+
+    private final Map<String, QueryPlan> plans;
+
+    public QueryPlanCache(@Value("${todo.query.plan-cache-size:1024}") int maxPlans) {
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QueryPlan> eldest) {
+                return size() > maxPlans;
+            }
+        };
+    }
+
+    public QueryPlan plan(String expression) {
+        String normalized = QueryParser.normalize(expression);
+        synchronized (plans) {
+            QueryPlan plan = plans.get(normalized);
+            if (plan != null) {
+                return plan;
+            }
+        }
+        QueryPlan plan = new QueryPlan(normalized, QueryParser.parse(normalized));
+        synchronized (plans) {
+            QueryPlan cached = plans.putIfAbsent(normalized, plan);
+            return cached != null ? cached : plan;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.service.todo.query;
+
+import org.service.todo.model.Event;
+import org.service.todo.urgency.UrgentEvent;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Field accessors of an in-memory row type. Fields without an accessor cannot be filtered on
+ * for that row type.
+ */
+public final class RowSchema<T> {
+
+    public static final RowSchema<Event> EVENT = new RowSchema<Event>("event")
+            .with(QueryField.id, Event::getId)
+            .with(QueryField.title, Event::getTitle)
+            .with(QueryField.description, Event::getDescription)
+            .with(QueryField.deadline, Event::getDeadline)
+            .with(QueryField.status, Event::getStatus)
+            .with(QueryField.priority, Event::getPriority)
+            .with(QueryField.createdDate, Event::getCreatedDate)
+            .with(QueryField.editDate, Event::getEditDate);
+
+    public static final RowSchema<UrgentEvent> URGENT_EVENT = new RowSchema<UrgentEvent>("urgent event")
+            .with(QueryField.id, UrgentEvent::id)
+            .with(QueryField.title, UrgentEvent::title)
+            .with(QueryField.deadline, UrgentEvent::deadline)
+            .with(QueryField.status, UrgentEvent::status)
+            .with(QueryField.priority, UrgentEvent::priority);
+
+    private final String name;
+    private final Map<QueryField, Function<T, ?>> accessors = new EnumMap<>(QueryField.class);
+
+    private RowSchema(String name) {
+        this.name = name;
+    }
+
+    private RowSchema<T> with(QueryField field, Function<T, ?> accessor) {
+        accessors.put(field, accessor);
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    <V> Function<T, V> accessor(QueryField field) {
+        Function<T, ?> accessor = accessors.get(field);
+        if (accessor == null) {
+            throw new IllegalArgumentException("Field " + field + " is not available on " + name);
+        }
+        return (Function<T, V>) accessor;
+    }
+}
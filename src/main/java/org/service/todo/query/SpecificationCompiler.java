@@ -0,0 +1,106 @@
+package org.service.todo.query;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.service.todo.model.Event;
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles a {@link QueryNode} into a {@link Specification} so the filter runs in the database.
+ * Enum conditions are turned into the same ordinal masks as in memory and sent as an
+ * {@code in} list, which is how {@code priority >= High} works on a column stored as text.
+ * Status conditions match the status shown in listings, which
+ * {@link org.service.todo.service.EventRules#listedStatus} derives from the deadline and the stored
+ * status, so every allowed listed status is expanded into the stored rows that produce it.
+ */
+public final class SpecificationCompiler {
+
+    private SpecificationCompiler() {
+    }
+
+    public static Specification<Event> compile(QueryNode node) {
+        return (root, query, cb) -> predicate(node, root, cb, LocalDate.now());
+    }
+
+    private static Predicate predicate(QueryNode node, Root<Event> root, CriteriaBuilder cb, LocalDate today) {
+        boolean[] mask = PredicateCompiler.mask(node);
+        return switch (node) {
+            case QueryNode.And and -> cb.and(children(and.children(), root, cb, today));
+            case QueryNode.Or or -> cb.or(children(or.children(), root, cb, today));
+            case QueryNode.IsNull isNull -> isNull.negated() ? cb.isNotNull(root.get(isNull.field().getAttribute())) : cb.isNull(root.get(isNull.field().getAttribute()));
+            case QueryNode.In in when mask != null -> masked(in.field(), mask, root, cb, today);
+            case QueryNode.Compare compare when mask != null -> masked(compare.field(), mask, root, cb, today);
+            case QueryNode.In in -> {
+                Path<Object> path = root.get(in.field().getAttribute());
+                yield in.negated() ? cb.and(cb.isNotNull(path), cb.not(path.in(in.values()))) : path.in(in.values());
+            }
+            case QueryNode.Compare compare -> compare(compare, root, cb);
+        };
+    }
+
+    private static Predicate[] children(List<QueryNode> children, Root<Event> root, CriteriaBuilder cb, LocalDate today) {
+        return children.stream().map(child -> predicate(child, root, cb, today)).toArray(Predicate[]::new);
+    }
+
+    private static Predicate masked(QueryField field, boolean[] mask, Root<Event> root, CriteriaBuilder cb, LocalDate today) {
+        Enum<?>[] constants = field.getKind() == QueryField.Kind.Status ? Status.values() : Priority.values();
+        List<Enum<?>> allowed = new ArrayList<>();
+        for (int i = 0; i < mask.length; i++) {
+            if (mask[i]) {
+                allowed.add(constants[i]);
+            }
+        }
+        Path<Object> path = root.get(field.getAttribute());
+        if (allowed.isEmpty()) {
+            return cb.disjunction();
+        }
+        if (allowed.size() == constants.length) {
+            return cb.isNotNull(path);
+        }
+        if (field.getKind() == QueryField.Kind.Status) {
+            return cb.or(allowed.stream().map(status -> listed((Status) status, root, cb, today)).toArray(Predicate[]::new));
+        }
+        return path.in(allowed);
+    }
+
+    private static Predicate listed(Status status, Root<Event> root, CriteriaBuilder cb, LocalDate today) {
+        Path<LocalDate> deadline = root.get("deadline");
+        Path<Status> stored = root.get("status");
+        return switch (status) {
+            case Active -> cb.or(cb.isNull(deadline),
+                    cb.and(cb.greaterThanOrEqualTo(deadline, today), cb.equal(stored, Status.Active)));
+            case Overdue -> cb.and(cb.isNotNull(deadline), cb.or(cb.equal(stored, Status.Overdue),
+                    cb.and(cb.lessThan(deadline, today), cb.equal(stored, Status.Active))));
+            case Completed, Late -> cb.and(cb.isNotNull(deadline), cb.equal(stored, status));
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate compare(QueryNode.Compare compare, Root<Event> root, CriteriaBuilder cb) {
+        Expression path = root.get(compare.field().getAttribute());
+        Comparable value = (Comparable) compare.value();
+        return switch (compare.operator()) {
+            case Eq -> cb.equal(path, value);
+            case Ne -> cb.notEqual(path, value);
+            case Lt -> cb.lessThan(path, value);
+            case Le -> cb.lessThanOrEqualTo(path, value);
+            case Gt -> cb.greaterThan(path, value);
+            case Ge -> cb.greaterThanOrEqualTo(path, value);
+            case Contains -> cb.like(path, "%" + escape((String) value) + "%", '\\');
+            case NotContains -> cb.notLike(path, "%" + escape((String) value) + "%", '\\');
+        };
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
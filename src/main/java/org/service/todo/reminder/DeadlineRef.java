@@ -0,0 +1,13 @@
+package org.service.todo.reminder;
+
+import org.service.todo.model.Status;
+import org.service.todo.tenant.TenantContext;
+
+import java.time.LocalDate;
+
+public record DeadlineRef(Long id, LocalDate deadline, Status status, String tenantId) {
+
+    public DeadlineRef(Long id, LocalDate deadline, Status status) {
+        this(id, deadline, status, TenantContext.DEFAULT);
+    }
+}
@@ -0,0 +1,169 @@
+package org.service.todo.reminder;
+
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel with O(1) schedule and cancel. Level {@code i} has {@code wheelSize}
+ * slots of {@code wheelSize^i} ticks each; when the cursor crosses a slot boundary of a higher
+ * level, that slot is cascaded down by re-scheduling its timers. Not thread-safe, callers
+ * serialize access.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    public static final class Timer<T> {
+        private final long expirationTick;
+        private final T payload;
+        private Timer<T> prev;
+        private Timer<T> next;
+        private Slot<T> slot;
+
+        private Timer(long expirationTick, T payload) {
+            this.expirationTick = expirationTick;
+            this.payload = payload;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public boolean isPending() {
+            return slot != null;
+        }
+    }
+
+    private static final class Slot<T> {
+        private Timer<T> head;
+
+        void add(Timer<T> timer) {
+            timer.slot = this;
+            timer.next = head;
+            if (head != null) {
+                head.prev = timer;
+            }
+            head = timer;
+        }
+
+        void remove(Timer<T> timer) {
+            if (timer.prev != null) {
+                timer.prev.next = timer.next;
+            } else {
+                head = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.prev = timer.prev;
+            }
+            timer.prev = null;
+            timer.next = null;
+            timer.slot = null;
+        }
+
+        Timer<T> drain() {
+            Timer<T> drained = head;
+            head = null;
+            return drained;
+        }
+    }
+
+    private final int wheelBits;
+    private final int wheelMask;
+    private final int levels;
+    private final Slot<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(int wheelBits, int levels, long startTick) {
+        this.wheelBits = wheelBits;
+        this.wheelMask = (1 << wheelBits) - 1;
+        this.levels = levels;
+        this.slots = new Slot[levels][1 << wheelBits];
+        for (Slot<T>[] level : slots) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Slot<>();
+            }
+        }
+        this.currentTick = startTick;
+    }
+
+    /**
+     * Schedules {@code payload} to expire at {@code expirationTick}.
+     *
+     * @return the timer handle, or {@code null} when the tick has already passed
+     */
+    public Timer<T> schedule(long expirationTick, T payload) {
+        if (expirationTick <= currentTick) {
+            return null;
+        }
+        Timer<T> timer = new Timer<>(expirationTick, payload);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    public void cancel(Timer<T> timer) {
+        if (timer != null && timer.slot != null) {
+            timer.slot.remove(timer);
+            size--;
+        }
+    }
+
+    /**
+     * Moves the cursor to {@code tick}, adding the payload of every expired timer to {@code expired}.
+     */
+    public void advanceTo(long tick, List<T> expired) {
+        while (currentTick < tick) {
+            currentTick++;
+            cascade();
+            Timer<T> timer = slots[0][(int) (currentTick & wheelMask)].drain();
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                timer.slot = null;
+                size--;
+                expired.add(timer.payload);
+                timer = next;
+            }
+        }
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade() {
+        int highest = 0;
+        while (highest + 1 < levels && (currentTick & ((1L << (wheelBits * (highest + 1))) - 1)) == 0) {
+            highest++;
+        }
+        for (int level = highest; level > 0; level--) {
+            Timer<T> timer = slots[level][(int) ((currentTick >>> (wheelBits * level)) & wheelMask)].drain();
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                timer.slot = null;
+                place(timer);
+                timer = next;
+            }
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.expirationTick - currentTick;
+        int level = 0;
+        while (level + 1 < levels && delta >= (1L << (wheelBits * (level + 1)))) {
+            level++;
+        }
+        if (level == 0 && delta <= 0) {
+            // only reachable while cascading: the timer is due on this very tick
+            slots[0][(int) (currentTick & wheelMask)].add(timer);
+            return;
+        }
+        slots[level][(int) ((timer.expirationTick >>> (wheelBits * level)) & wheelMask)].add(timer);
+    }
+}
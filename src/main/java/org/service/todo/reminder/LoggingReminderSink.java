@@ -0,0 +1,20 @@
+package org.service.todo.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "todo.reminders.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderSink implements ReminderSink {
+
+    @Override
+    public void deliver(List<Reminder> reminders) {
+        for (Reminder reminder : reminders) {
+            log.info("Reminder {} for event {} (deadline {})", reminder.kind(), reminder.eventId(), reminder.deadline());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.service.todo.reminder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record Reminder(Long eventId, Kind kind, LocalDate deadline, Instant fireAt) {
+
+    public enum Kind {
+        Upcoming,
+        Due
+    }
+}
@@ -0,0 +1,236 @@
+package org.service.todo.reminder;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.service.todo.invalidation.Invalidation;
+import org.service.todo.invalidation.InvalidationListener;
+import org.service.todo.model.Status;
+import org.service.todo.repository.Repository;
+import org.service.todo.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps an "upcoming" and a "due" reminder per open event with a deadline in a hierarchical
+ * timing wheel. The wheel is filled from a keyset scan over the deadline index once the
+ * application is ready and then kept current from invalidations, which cover add, edit,
+ * complete and delete on this and every other node. Every node that runs the scheduler sends
+ * the same reminders, so it is off unless {@code todo.reminders.enabled=true}, which should be
+ * set on a single node only.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "todo.reminders.enabled", havingValue = "true")
+public class ReminderScheduler implements InvalidationListener {
+
+    private static final List<Status> OPEN = List.of(Status.Active, Status.Overdue);
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private record Pending(String tenant, HierarchicalTimingWheel.Timer<Reminder> upcoming, HierarchicalTimingWheel.Timer<Reminder> due) {
+    }
+
+    private final Repository repository;
+    private final ReminderSink sink;
+    private final Duration lead;
+    private final long tickMillis;
+    private final int batchSize;
+    private final int scanPageSize;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final HierarchicalTimingWheel<Reminder> wheel;
+    private final Map<Long, Pending> pending = new HashMap<>();
+
+    private final ScheduledExecutorService ticker = daemon("reminder-wheel");
+    // the wheel holds the deadlines of every tenant
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> thread(() -> TenantContext.runAsRoot(runnable), "reminder-loader"));
+    private final ExecutorService delivery = Executors.newSingleThreadExecutor(runnable -> thread(runnable, "reminder-delivery"));
+
+    public ReminderScheduler(Repository repository, ReminderSink sink,
+                             @Value("${todo.reminders.lead:PT1H}") Duration lead,
+                             @Value("${todo.reminders.tick:PT1S}") Duration tick,
+                             @Value("${todo.reminders.batch-size:500}") int batchSize,
+                             @Value("${todo.reminders.scan-page-size:5000}") int scanPageSize) {
+        this.repository = repository;
+        this.sink = sink;
+        this.lead = lead;
+        this.tickMillis = tick.toMillis();
+        this.batchSize = batchSize;
+        this.scanPageSize = scanPageSize;
+        // 64 slots per level, 6 levels: with one-second ticks that spans far beyond any realistic deadline
+        this.wheel = new HierarchicalTimingWheel<>(6, 6, System.currentTimeMillis() / tickMillis);
+    }
+
+    @PostConstruct
+    void start() {
+        ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        ticker.shutdownNow();
+        loader.shutdownNow();
+        delivery.shutdown();
+        delivery.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loader.execute(this::rebuild);
+    }
+
+    @Override
+    public void onInvalidation(Invalidation invalidation) {
+        if (invalidation.all() && invalidation.tenants().isEmpty()) {
+            loader.execute(this::rebuild);
+        } else if (invalidation.all()) {
+            Set<String> tenants = invalidation.tenants();
+            loader.execute(() -> rebuild(tenants));
+        } else if (!invalidation.ids().isEmpty()) {
+            Set<Long> ids = invalidation.ids();
+            loader.execute(() -> refresh(ids));
+        }
+    }
+
+    public int pendingCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    void rebuild() {
+        synchronized (wheel) {
+            pending.values().forEach(this::cancel);
+            pending.clear();
+        }
+        log.info("Loaded {} event deadlines into the reminder wheel", scan());
+    }
+
+    /**
+     * Reschedules only the events of {@code tenants}.
+     */
+    void rebuild(Set<String> tenants) {
+        synchronized (wheel) {
+            pending.values().removeIf(entry -> {
+                if (tenants.contains(entry.tenant())) {
+                    cancel(entry);
+                    return true;
+                }
+                return false;
+            });
+        }
+        int loaded = 0;
+        for (String tenant : tenants) {
+            loaded += TenantContext.callAs(tenant, this::scan);
+        }
+        log.info("Loaded {} event deadlines of {} into the reminder wheel", loaded, tenants);
+    }
+
+    private int scan() {
+        LocalDate deadline = LocalDate.now(zone);
+        long after = 0;
+        int loaded = 0;
+        List<DeadlineRef> page = repository.findDeadlinesFrom(deadline, OPEN, Limit.of(scanPageSize));
+        while (!page.isEmpty()) {
+            synchronized (wheel) {
+                page.forEach(this::schedule);
+            }
+            loaded += page.size();
+            DeadlineRef last = page.get(page.size() - 1);
+            deadline = last.deadline();
+            after = last.id();
+            page = repository.findDeadlinesAfter(deadline, after, OPEN, Limit.of(scanPageSize));
+        }
+        return loaded;
+    }
+
+    void refresh(Set<Long> ids) {
+        List<Long> all = List.copyOf(ids);
+        for (int from = 0; from < all.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = all.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, all.size()));
+            List<DeadlineRef> refs = repository.findDeadlinesByIds(chunk);
+            synchronized (wheel) {
+                chunk.forEach(id -> cancel(pending.remove(id)));
+                refs.forEach(this::schedule);
+            }
+        }
+    }
+
+    void advance() {
+        List<Reminder> fired = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advanceTo(System.currentTimeMillis() / tickMillis, fired);
+            for (Reminder reminder : fired) {
+                if (reminder.kind() == Reminder.Kind.Due) {
+                    pending.remove(reminder.eventId());
+                }
+            }
+        }
+        for (int from = 0; from < fired.size(); from += batchSize) {
+            List<Reminder> batch = fired.subList(from, Math.min(from + batchSize, fired.size()));
+            delivery.execute(() -> deliver(batch));
+        }
+    }
+
+    private void deliver(List<Reminder> batch) {
+        try {
+            sink.deliver(batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to deliver {} reminders", batch.size(), e);
+        }
+    }
+
+    private void schedule(DeadlineRef ref) {
+        if (ref.deadline() == null || !OPEN.contains(ref.status())) {
+            return;
+        }
+        // an event turns overdue once its deadline day is over
+        Instant dueAt = ref.deadline().plusDays(1).atStartOfDay(zone).toInstant();
+        Instant upcomingAt = dueAt.minus(lead);
+        HierarchicalTimingWheel.Timer<Reminder> due = wheel.schedule(toTick(dueAt), new Reminder(ref.id(), Reminder.Kind.Due, ref.deadline(), dueAt));
+        if (due == null) {
+            return;
+        }
+        HierarchicalTimingWheel.Timer<Reminder> upcoming = wheel.schedule(toTick(upcomingAt), new Reminder(ref.id(), Reminder.Kind.Upcoming, ref.deadline(), upcomingAt));
+        pending.put(ref.id(), new Pending(ref.tenantId(), upcoming, due));
+    }
+
+    private void cancel(Pending entry) {
+        if (entry != null) {
+            wheel.cancel(entry.upcoming());
+            wheel.cancel(entry.due());
+        }
+    }
+
+    private long toTick(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli() + tickMillis - 1, tickMillis);
+    }
+
+    private static ScheduledExecutorService daemon(String name) {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> thread(runnable, name));
+    }
+
+    private static Thread thread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
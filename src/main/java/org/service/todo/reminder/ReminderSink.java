@@ -0,0 +1,7 @@
+package org.service.todo.reminder;
+
+import java.util.List;
+
+public interface ReminderSink {
+    void deliver(List<Reminder> reminders);
+}
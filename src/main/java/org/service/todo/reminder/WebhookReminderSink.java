@@ -0,0 +1,32 @@
+package org.service.todo.reminder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * Posts each fired batch as a JSON array to {@code todo.reminders.webhook-url}.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.reminders.sink", havingValue = "webhook")
+public class WebhookReminderSink implements ReminderSink {
+
+    private final RestClient client;
+
+    public WebhookReminderSink(RestClient.Builder builder, @Value("${todo.reminders.webhook-url}") String url) {
+        this.client = builder.baseUrl(url).build();
+    }
+
+    @Override
+    public void deliver(List<Reminder> reminders) {
+        client.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(reminders)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
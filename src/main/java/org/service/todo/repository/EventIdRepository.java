@@ -0,0 +1,16 @@
+package org.service.todo.repository;
+
+import org.service.todo.model.Event;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface EventIdRepository {
+    List<Long> findIds(Specification<Event> specification);
+
+    /**
+     * Sets {@code changeSeq} on every event matching the specification and on all their
+     * subtasks with a single update, so the rows can be addressed as a set afterwards.
+     */
+    int stampSubtrees(Specification<Event> specification, long changeSeq);
+}
@@ -0,0 +1,51 @@
+package org.service.todo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.service.todo.hierarchy.EventClosure;
+import org.service.todo.model.Event;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class EventIdRepositoryImpl implements EventIdRepository {
+
+    private final EntityManager entityManager;
+
+    public EventIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Event> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+        query.select(root.get("id")).where(specification.toPredicate(root, query, criteriaBuilder));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public int stampSubtrees(Specification<Event> specification, long changeSeq) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Event> update = criteriaBuilder.createCriteriaUpdate(Event.class);
+        Root<Event> root = update.from(Event.class);
+
+        Subquery<Long> matched = update.subquery(Long.class);
+        Root<Event> event = matched.from(Event.class);
+        // the specifications only build predicates, the query is there to satisfy the signature
+        matched.select(event.get("id")).where(specification.toPredicate(event, criteriaBuilder.createQuery(Event.class), criteriaBuilder));
+
+        Subquery<Long> subtree = update.subquery(Long.class);
+        Root<EventClosure> closure = subtree.from(EventClosure.class);
+        subtree.select(closure.get("descendantId")).where(closure.get("ancestorId").in(matched));
+
+        update.set(root.<Long>get("changeSeq"), changeSeq)
+                .where(criteriaBuilder.or(root.get("id").in(matched), root.get("id").in(subtree)));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
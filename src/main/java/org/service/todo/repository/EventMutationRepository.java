@@ -0,0 +1,25 @@
+package org.service.todo.repository;
+
+import org.service.todo.model.Event;
+import org.service.todo.model.Status;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+public interface EventMutationRepository {
+
+    /**
+     * Moves the event of the current tenant along {@code transitions} with one conditional
+     * UPDATE. A status without a transition is left alone, and so are the edit date and change
+     * sequence. Empty when there is no such event.
+     */
+    Optional<EventUpdate> applyTransition(long id, Map<Status, Status> transitions, LocalDate today);
+
+    /**
+     * Writes the non-null fields of {@code edit} over the event of the current tenant with one
+     * UPDATE, which only touches the edit date and change sequence when a value actually
+     * differs. Empty when there is no such event.
+     */
+    Optional<EventUpdate> applyEdit(long id, Event edit, LocalDate today);
+}
@@ -0,0 +1,148 @@
+package org.service.todo.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+import org.service.todo.model.Event;
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+import org.service.todo.tenant.TenantContext;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Single-statement mutations that also return the row they changed. The UPDATE runs inside an
+ * H2 data change delta table ({@code old table (...)}), so the previous values come back with
+ * it; the new values are applied to a copy the same way the SET clause applies them, and the
+ * new change sequence is read with {@code currval} only where the row was bumped. Native SQL
+ * bypasses the tenant and soft-delete filters of {@link Event}, so both are spelled out.
+ */
+public class EventMutationRepositoryImpl implements EventMutationRepository {
+
+    private static final String RETURNED = "o.id, o.title, o.description, o.deadline, o.status, o.priority, " +
+            "o.created_date, o.edit_date, o.change_seq, o.parent_id, ";
+    private static final String FILTER = " where id = :id and tenant_id = :tenant and deleted = false) o";
+    private static final String EDITED = "(cast(:title as varchar) is not null and %1$stitle is distinct from cast(:title as varchar)) " +
+            "or (cast(:description as varchar) is not null and %1$sdescription is distinct from cast(:description as varchar)) " +
+            "or (cast(:deadline as date) is not null and %1$sdeadline is distinct from cast(:deadline as date)) " +
+            "or (cast(:priority as varchar) is not null and %1$spriority is distinct from cast(:priority as varchar))";
+
+    private final EntityManager entityManager;
+
+    public EventMutationRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<EventUpdate> applyTransition(long id, Map<Status, Status> transitions, LocalDate today) {
+        // enum names only, never request input
+        String from = transitions.keySet().stream().map(status -> "'" + status.name() + "'").collect(Collectors.joining(", "));
+        String cases = transitions.entrySet().stream()
+                .map(transition -> "when '" + transition.getKey().name() + "' then '" + transition.getValue().name() + "' ")
+                .collect(Collectors.joining());
+        String sql = "select " + RETURNED + "case when o.status in (" + from + ") then currval('event_change_seq') else o.change_seq end as next_seq " +
+                "from old table (update event set status = case status " + cases + "else status end, " +
+                "edit_date = case when status in (" + from + ") then :today else edit_date end, " +
+                "change_seq = case when status in (" + from + ") then nextval('event_change_seq') else change_seq end" + FILTER;
+        return update(sql, id, today, Map.of()).map(row -> {
+            Event current = copy(row.previous());
+            if (transitions.containsKey(current.getStatus())) {
+                current.setStatus(transitions.get(current.getStatus()));
+                current.setEditDate(today);
+                current.setChangeSeq(row.nextSeq());
+            }
+            return new EventUpdate(row.previous(), current);
+        });
+    }
+
+    @Override
+    public Optional<EventUpdate> applyEdit(long id, Event edit, LocalDate today) {
+        String sql = "select " + RETURNED + "case when " + EDITED.formatted("o.") + " then currval('event_change_seq') else o.change_seq end as next_seq " +
+                "from old table (update event set title = coalesce(cast(:title as varchar), title), " +
+                "description = coalesce(cast(:description as varchar), description), " +
+                "deadline = coalesce(cast(:deadline as date), deadline), priority = coalesce(cast(:priority as varchar), priority), " +
+                "edit_date = case when " + EDITED.formatted("") + " then :today else edit_date end, " +
+                "change_seq = case when " + EDITED.formatted("") + " then nextval('event_change_seq') else change_seq end" + FILTER;
+        Map<String, Object> values = new HashMap<>();
+        values.put("title", edit.getTitle());
+        values.put("description", edit.getDescription());
+        values.put("deadline", edit.getDeadline());
+        values.put("priority", edit.getPriority() == null ? null : edit.getPriority().name());
+        return update(sql, id, today, values).map(row -> {
+            Event current = copy(row.previous());
+            if (!Objects.equals(row.nextSeq(), row.previous().getChangeSeq())) {
+                if (edit.getTitle() != null) {
+                    current.setTitle(edit.getTitle());
+                }
+                if (edit.getDescription() != null) {
+                    current.setDescription(edit.getDescription());
+                }
+                if (edit.getDeadline() != null) {
+                    current.setDeadline(edit.getDeadline());
+                }
+                if (edit.getPriority() != null) {
+                    current.setPriority(edit.getPriority());
+                }
+                current.setEditDate(today);
+                current.setChangeSeq(row.nextSeq());
+            }
+            return new EventUpdate(row.previous(), current);
+        });
+    }
+
+    private record Row(Event previous, Long nextSeq) {
+    }
+
+    private Optional<Row> update(String sql, long id, LocalDate today, Map<String, Object> values) {
+        NativeQuery<?> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("title", String.class)
+                .addScalar("description", String.class)
+                .addScalar("deadline", LocalDate.class)
+                .addScalar("status", String.class)
+                .addScalar("priority", String.class)
+                .addScalar("created_date", LocalDate.class)
+                .addScalar("edit_date", LocalDate.class)
+                .addScalar("change_seq", Long.class)
+                .addScalar("parent_id", Long.class)
+                .addScalar("next_seq", Long.class);
+        query.setParameter("id", id);
+        query.setParameter("tenant", TenantContext.current());
+        query.setParameter("today", today);
+        values.forEach((name, value) -> {
+            if (value instanceof LocalDate date) {
+                query.setParameter(name, date, LocalDate.class);
+            } else {
+                query.setParameter(name, (String) value, String.class);
+            }
+        });
+        List<?> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = (Object[]) rows.get(0);
+        Event previous = new Event();
+        previous.setId((Long) row[0]);
+        previous.setTitle((String) row[1]);
+        previous.setDescription((String) row[2]);
+        previous.setDeadline((LocalDate) row[3]);
+        previous.setStatus(Status.valueOf((String) row[4]));
+        previous.setPriority(row[5] == null ? null : Priority.valueOf((String) row[5]));
+        previous.setCreatedDate((LocalDate) row[6]);
+        previous.setEditDate((LocalDate) row[7]);
+        previous.setChangeSeq((Long) row[8]);
+        previous.setParentId((Long) row[9]);
+        previous.setTenantId(TenantContext.current());
+        return Optional.of(new Row(previous, (Long) row[10]));
+    }
+
+    private static Event copy(Event event) {
+        return new Event(event.getId(), event.getTitle(), event.getDescription(), event.getDeadline(), event.getStatus(), event.getPriority(),
+                event.getCreatedDate(), event.getEditDate(), event.getChangeSeq(), event.getParentId(), event.isDeleted(), event.getTenantId());
+    }
+}
@@ -0,0 +1,15 @@
+package org.service.todo.repository;
+
+import org.service.todo.model.Event;
+
+import java.util.Objects;
+
+/**
+ * An event as it was before a single-statement update and as that update left it.
+ */
+public record EventUpdate(Event previous, Event current) {
+
+    public boolean changed() {
+        return !Objects.equals(previous.getChangeSeq(), current.getChangeSeq());
+    }
+}
@@ -1,14 +1,26 @@
 package org.service.todo.repository;
 
+import jakarta.persistence.LockModeType;
+import org.service.todo.hierarchy.StatusTally;
 import org.service.todo.model.Event;
+import org.service.todo.model.Status;
+import org.service.todo.reminder.DeadlineRef;
+import org.service.todo.urgency.UrgentEvent;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Component
-public interface Repository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface Repository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>, EventIdRepository, EventMutationRepository {
     List<Event> findByOrderByTitleAsc();
 
     List<Event> findByOrderByDescriptionAsc();
@@ -22,4 +34,83 @@ public interface Repository extends JpaRepository<Event, Long>, JpaSpecification
     List<Event> findByOrderByCreatedDateAsc();
 
     List<Event> findByOrderByEditDateAsc();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Event e where e.id in :ids order by e.id")
+    List<Event> findAllForUpdate(@Param("ids") Collection<Long> ids);
+
+    List<Event> findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(long since, long watermark, Limit limit);
+
+    @Query("select new org.service.todo.reminder.DeadlineRef(e.id, e.deadline, e.status, e.tenantId) from Event e " +
+            "where e.deadline >= :deadline and e.status in :statuses order by e.deadline, e.id")
+    List<DeadlineRef> findDeadlinesFrom(@Param("deadline") LocalDate deadline, @Param("statuses") Collection<Status> statuses, Limit limit);
+
+    @Query("select new org.service.todo.reminder.DeadlineRef(e.id, e.deadline, e.status, e.tenantId) from Event e " +
+            "where (e.deadline > :deadline or (e.deadline = :deadline and e.id > :after)) and e.status in :statuses order by e.deadline, e.id")
+    List<DeadlineRef> findDeadlinesAfter(@Param("deadline") LocalDate deadline, @Param("after") long after,
+                                         @Param("statuses") Collection<Status> statuses, Limit limit);
+
+    @Query("select new org.service.todo.reminder.DeadlineRef(e.id, e.deadline, e.status, e.tenantId) from Event e where e.id in :ids")
+    List<DeadlineRef> findDeadlinesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select new org.service.todo.urgency.UrgentEvent(e.id, e.title, e.deadline, e.priority, e.status, e.tenantId) from Event e " +
+            "where e.id > :after and e.status in :statuses order by e.id")
+    List<UrgentEvent> findUrgentAfter(@Param("after") long after, @Param("statuses") Collection<Status> statuses, Limit limit);
+
+    @Query("select new org.service.todo.urgency.UrgentEvent(e.id, e.title, e.deadline, e.priority, e.status, e.tenantId) from Event e where e.id in :ids")
+    List<UrgentEvent> findUrgentByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select e from Event e join EventClosure c on c.descendantId = e.id " +
+            "where c.ancestorId = :id and c.depth > 0 and e.status in :statuses order by c.depth, e.id")
+    List<Event> findSubtree(@Param("id") long id, @Param("statuses") Collection<Status> statuses);
+
+    @Query("select new org.service.todo.hierarchy.StatusTally(e.status, count(e), " +
+            "sum(case when e.deadline < :today then 1 else 0 end), sum(case when e.deadline is null then 1 else 0 end)) " +
+            "from Event e join EventClosure c on c.descendantId = e.id where c.ancestorId = :id and c.depth > 0 group by e.status")
+    List<StatusTally> tallySubtree(@Param("id") long id, @Param("today") LocalDate today);
+
+    @Query("select new org.service.todo.reminder.DeadlineRef(e.id, e.deadline, e.status) from Event e " +
+            "join EventClosure c on c.descendantId = e.id where c.ancestorId = :id and e.status in :statuses")
+    List<DeadlineRef> findDeadlinesInSubtree(@Param("id") long id, @Param("statuses") Collection<Status> statuses);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Event e set e.parentId = :parentId, e.editDate = :today, " +
+            "e.changeSeq = cast(function('nextval', 'event_change_seq') as Long) where e.id = :id")
+    int updateParent(@Param("id") long id, @Param("parentId") Long parentId, @Param("today") LocalDate today);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Event e set e.status = case when e.status = org.service.todo.model.Status.Overdue or e.deadline < :today " +
+            "then org.service.todo.model.Status.Late else org.service.todo.model.Status.Completed end, " +
+            "e.editDate = :today, e.changeSeq = cast(function('nextval', 'event_change_seq') as Long) " +
+            "where e.status in (org.service.todo.model.Status.Active, org.service.todo.model.Status.Overdue) " +
+            "and e.id in (select c.descendantId from EventClosure c where c.ancestorId = :id)")
+    int completeSubtree(@Param("id") long id, @Param("today") LocalDate today);
+
+    @Modifying
+    @Query("update Event e set e.status = :status, e.changeSeq = cast(function('nextval', 'event_change_seq') as Long) where e.id in :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") Status status);
+
+    @Modifying
+    @Query("delete from Event e where e.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Event e set e.deleted = true, e.changeSeq = :changeSeq where e.id in :ids")
+    int softDeleteByIds(@Param("ids") Collection<Long> ids, @Param("changeSeq") long changeSeq);
+
+    @Modifying
+    @Query("delete from Event e where e.changeSeq = :changeSeq")
+    int deleteByChangeSeq(@Param("changeSeq") long changeSeq);
+
+    @Modifying
+    @Query("update Event e set e.deleted = true where e.changeSeq = :changeSeq")
+    int softDeleteByChangeSeq(@Param("changeSeq") long changeSeq);
+
+    @Modifying
+    @Query("update Event e set e.deleted = true, e.changeSeq = :changeSeq")
+    int softDeleteAll(@Param("changeSeq") long changeSeq);
+
+    @Modifying
+    @Query(value = "delete from event where id in (select id from event where deleted = true limit :limit)", nativeQuery = true)
+    int purgeDeleted(@Param("limit") int limit);
 }
@@ -0,0 +1,36 @@
+package org.service.todo.service;
+
+import org.service.todo.repository.Repository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hard-deletes soft-deleted events in bounded chunks, one short transaction per chunk, so
+ * purging never holds locks on a large part of the table.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.delete.soft", havingValue = "true")
+public class EventPurger {
+
+    private final Repository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public EventPurger(Repository repository, TransactionTemplate transactionTemplate,
+                       @Value("${todo.delete.purge-chunk-size:1000}") int chunkSize) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${todo.delete.purge-interval:PT1M}")
+    public void purge() {
+        Integer purged;
+        do {
+            purged = transactionTemplate.execute(status -> repository.purgeDeleted(chunkSize));
+        } while (purged != null && purged == chunkSize);
+    }
+}
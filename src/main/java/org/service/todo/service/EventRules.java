@@ -0,0 +1,103 @@
+package org.service.todo.service;
+
+import org.service.todo.model.Event;
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Title directives and status rules shared by the servlet and the reactive stack. Pure
+ * functions over {@link Event}, no persistence.
+ */
+public final class EventRules {
+
+    private static final Pattern PRIORITY = Pattern.compile("!([1234])");
+    private static final Pattern PRIORITY_WRONG = Pattern.compile("!(\\d+)");
+    private static final Pattern DATE = Pattern.compile("!before (\\d{2}-\\d{2}-\\d{4}|\\d{2}\\.\\d{2}\\.\\d{4})");
+    private static final Pattern DATE_WRONG = Pattern.compile("!before (\\d{2}.\\d{2}.\\d{4})");
+    private static final DateTimeFormatter DASHED = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final DateTimeFormatter DOTTED = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private EventRules() {
+    }
+
+    public static Event applyDirectives(Event event) {
+        return parsePriority(parseDeadline(event));
+    }
+
+    public static Event parsePriority(Event event) {
+        Matcher priorityMatcher = PRIORITY.matcher(event.getTitle());
+
+        if (priorityMatcher.find() && event.getPriority() == null) {
+            String priority = event.getTitle().substring(priorityMatcher.start(), priorityMatcher.end());
+            switch (priority) {
+                case "!1" -> event.setPriority(Priority.Critical);
+                case "!2" -> event.setPriority(Priority.High);
+                case "!4" -> event.setPriority(Priority.Low);
+                default -> event.setPriority(Priority.Medium);
+            }
+        } else if (event.getPriority() == null) {
+            event.setPriority(Priority.Medium);
+        }
+        event.setTitle(PRIORITY.matcher(event.getTitle()).replaceAll(""));
+        event.setTitle(PRIORITY_WRONG.matcher(event.getTitle()).replaceAll(""));
+        return event;
+    }
+
+    public static Event parseDeadline(Event event) {
+        Matcher dateMatcher = DATE.matcher(event.getTitle());
+        LocalDate dateTime = null;
+
+        if (dateMatcher.find() && event.getDeadline() == null) {
+            String date = event.getTitle().substring(dateMatcher.start() + 8, dateMatcher.end());
+
+            try {
+                dateTime = LocalDate.parse(date, dateMatcher.group(1).contains("-") ? DASHED : DOTTED);
+            } catch (Exception ignored) {
+            }
+            event.setDeadline(dateTime);
+        }
+        event.setTitle(DATE.matcher(event.getTitle()).replaceAll(""));
+        event.setTitle(DATE_WRONG.matcher(event.getTitle()).replaceAll(""));
+        return event;
+    }
+
+    /**
+     * Status shown in listings: open events past their deadline are Overdue, events without a
+     * deadline are Active.
+     */
+    public static Status listedStatus(Event event, LocalDate today) {
+        if (event.getDeadline() != null && event.getDeadline().isBefore(today) && !isDone(event.getStatus())) {
+            return Status.Overdue;
+        } else if (event.getDeadline() == null) {
+            return Status.Active;
+        }
+        return event.getStatus();
+    }
+
+    /**
+     * Status shown for a single event. On top of {@link #listedStatus} it moves events back to
+     * Active when the deadline was pushed out, and between Completed and Late when the deadline
+     * moved across today.
+     */
+    public static Status currentStatus(Event event, LocalDate today) {
+        LocalDate deadline = event.getDeadline();
+        Status status = event.getStatus();
+        if (deadline == null) {
+            return Status.Active;
+        } else if (deadline.isBefore(today)) {
+            return isDone(status) ? (status == Status.Completed ? Status.Late : status) : Status.Overdue;
+        } else if (deadline.isAfter(today)) {
+            return isDone(status) ? (status == Status.Late ? Status.Completed : status) : Status.Active;
+        }
+        return status;
+    }
+
+    private static boolean isDone(Status status) {
+        return status == Status.Completed || status == Status.Late;
+    }
+}
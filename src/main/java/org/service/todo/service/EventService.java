@@ -2,216 +2,409 @@ package org.service.todo.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import org.service.todo.change.ChangeSequence;
+import org.service.todo.change.EventChange;
+import org.service.todo.hierarchy.EventClosureRepository;
+import org.service.todo.hierarchy.StatusTally;
+import org.service.todo.history.EventHistoryRecorder;
 import org.service.todo.model.Event;
 import org.service.todo.model.Priority;
 import org.service.todo.model.Status;
+import org.service.todo.reminder.DeadlineRef;
+import org.service.todo.repository.EventUpdate;
 import org.service.todo.repository.Repository;
+import org.service.todo.sync.TombstoneRepository;
+import org.service.todo.tag.EventTag;
+import org.service.todo.tag.EventTagRepository;
+import org.service.todo.tag.TagNames;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Validated
 @Service
 public class EventService {
 
+    private static final int DELETE_CHUNK_SIZE = 1000;
+    private static final List<Status> OPEN = List.of(Status.Active, Status.Overdue);
+    private static final Map<Status, Status> COMPLETE = Map.of(Status.Overdue, Status.Late, Status.Active, Status.Completed);
+    private static final Map<Status, Status> UN_COMPLETE = Map.of(Status.Late, Status.Overdue, Status.Completed, Status.Active);
+
     private final Repository repository;
+    private final TombstoneRepository tombstoneRepository;
+    private final EventClosureRepository closureRepository;
+    private final EventTagRepository tagRepository;
+    private final ChangeSequence changeSequence;
+    private final EventStatusWriter statusWriter;
+    private final EventHistoryRecorder historyRecorder;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate readTransaction;
+
+    @Value("${todo.delete.soft:false}")
+    private boolean softDelete;
 
-    public EventService(Repository repository) {
+    public EventService(Repository repository, TombstoneRepository tombstoneRepository, EventClosureRepository closureRepository,
+                        EventTagRepository tagRepository, ChangeSequence changeSequence, EventStatusWriter statusWriter,
+                        EventHistoryRecorder historyRecorder, ApplicationEventPublisher publisher, PlatformTransactionManager transactionManager) {
         this.repository = repository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.closureRepository = closureRepository;
+        this.tagRepository = tagRepository;
+        this.changeSequence = changeSequence;
+        this.statusWriter = statusWriter;
+        this.historyRecorder = historyRecorder;
+        this.publisher = publisher;
+        // listings read on the replica and persist derived statuses once that connection is back in the pool
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
     }
 
     public List<Event> getEvents(String title, String description, LocalDate deadline, Status status, Priority priority, LocalDate creationDate, LocalDate editDate) {
-        List<Event> events;
-        if (title != null) {
-            events = repository.findByOrderByTitleAsc();
-        } else if (description != null) {
-            events = repository.findByOrderByDescriptionAsc();
-        } else if (deadline != null) {
-            events = repository.findByOrderByDeadlineAsc();
-        } else if (status != null) {
-            events = repository.findByOrderByStatusAsc();
-        } else if (priority != null) {
-            events = repository.findByOrderByPriorityAsc();
-        } else if (creationDate != null) {
-            events = repository.findByOrderByCreatedDateAsc();
-        } else if (editDate != null) {
-            events = repository.findByOrderByEditDateAsc();
-        } else {
-            events = repository.findAll();
+        return withDerivedStatuses(readTransaction.execute(transaction -> {
+            if (title != null) {
+                return repository.findByOrderByTitleAsc();
+            } else if (description != null) {
+                return repository.findByOrderByDescriptionAsc();
+            } else if (deadline != null) {
+                return repository.findByOrderByDeadlineAsc();
+            } else if (status != null) {
+                return repository.findByOrderByStatusAsc();
+            } else if (priority != null) {
+                return repository.findByOrderByPriorityAsc();
+            } else if (creationDate != null) {
+                return repository.findByOrderByCreatedDateAsc();
+            } else if (editDate != null) {
+                return repository.findByOrderByEditDateAsc();
+            }
+            return repository.findAll();
+        }));
+    }
+
+    public List<Event> findEvents(Specification<Event> specification) {
+        return withDerivedStatuses(readTransaction.execute(transaction -> repository.findAll(specification)));
+    }
+
+    public List<Event> getSubtasks(long id, boolean open) {
+        return withDerivedStatuses(readTransaction.execute(transaction -> repository.findSubtree(id, open ? OPEN : List.of(Status.values()))));
+    }
+
+    /**
+     * Number of subtasks at any depth per listed status. The grouping runs on the stored status
+     * and the deadline buckets are folded in the same way {@link EventRules#listedStatus} does.
+     */
+    @Transactional(readOnly = true)
+    public Map<Status, Long> getSubtaskProgress(long id) {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            counts.put(status, 0L);
         }
-        for (Event event : events) {
-            if (event.getDeadline() != null && event.getDeadline().isBefore(LocalDate.now()) && event.getStatus() != Status.Completed && event.getStatus() != Status.Late) {
-                event.setStatus(Status.Overdue);
-                Event task = repository.findById(event.getId()).orElse(null);
-                if (task != null) {
-                    task.setStatus(Status.Overdue);
-                    repository.save(task);
-                }
-            } else if (event.getDeadline() == null) {
-                event.setStatus(Status.Active);
-                Event task = repository.findById(event.getId()).orElse(null);
-                if (task != null) {
-                    task.setStatus(Status.Active);
-                    repository.save(task);
-                }
+        for (StatusTally tally : repository.tallySubtree(id, LocalDate.now())) {
+            long dated = tally.total() - tally.undated();
+            counts.merge(Status.Active, tally.undated(), Long::sum);
+            if (OPEN.contains(tally.status())) {
+                counts.merge(Status.Overdue, tally.pastDue(), Long::sum);
+                counts.merge(tally.status(), dated - tally.pastDue(), Long::sum);
+            } else {
+                counts.merge(tally.status(), dated, Long::sum);
             }
         }
+        return counts;
+    }
+
+    private List<Event> withDerivedStatuses(List<Event> events) {
+        Map<Status, List<Long>> derived = new EnumMap<>(Status.class);
+        for (Event event : events) {
+            Status previous = event.getStatus();
+            deriveStatus(event, applyDerivedStatus(event).getStatus(), previous, derived);
+        }
+        if (!derived.isEmpty()) {
+            statusWriter.persist(derived);
+        }
         return events;
     }
 
+    private void deriveStatus(Event event, Status status, Status previous, Map<Status, List<Long>> derived) {
+        event.setStatus(status);
+        if (previous != status) {
+            derived.computeIfAbsent(status, s -> new ArrayList<>()).add(event.getId());
+            historyRecorder.statusChanged(event.getId(), previous, status);
+        }
+    }
+
+    public Event applyDerivedStatus(Event event) {
+        event.setStatus(EventRules.listedStatus(event, LocalDate.now()));
+        return event;
+    }
+
+    @Transactional
     public void addEvent(@Valid Event event) {
+        event.setChangeSeq(changeSequence.next());
         repository.save(makeMakPriority(makeMakDate(event)));
+        closureRepository.insertRoot(event.getId());
+        // the closure table is shared by all tenants, the parent has to be checked through the event
+        if (event.getParentId() != null && (!repository.existsById(event.getParentId())
+                || closureRepository.insertUnder(event.getId(), event.getParentId()) == 0)) {
+            throw new IllegalArgumentException("Parent event not found");
+        }
+        historyRecorder.created(event.getId(), event.getStatus());
+        publisher.publishEvent(EventChange.created(event.getId()));
     }
 
     public Event makeMakPriority(Event event) {
+        return EventRules.parsePriority(event);
+    }
 
-        Pattern priorityPattern = Pattern.compile("!([1234])");
-        Pattern priorityPatternWrong = Pattern.compile("!(\\d+)");
-        Matcher priorityMatcher = priorityPattern.matcher(event.getTitle());
-
-        if (priorityMatcher.find() && event.getPriority() == null) {
-            String priority = event.getTitle().substring(priorityMatcher.start(), priorityMatcher.end());
-            switch (priority) {
-                case "!1" -> event.setPriority(Priority.Critical);
-                case "!2" -> event.setPriority(Priority.High);
-                case "!4" -> event.setPriority(Priority.Low);
-                default -> event.setPriority(Priority.Medium);
-            }
-        } else if (event.getPriority() == null) {
-            event.setPriority(Priority.Medium);
+    public Event makeMakDate(Event event) {
+        return EventRules.parseDeadline(event);
+    }
+
+    @Transactional
+    public Event editEvent(Event event, Long id) {
+        EventUpdate update = repository.applyEdit(id, event, LocalDate.now())
+                .orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        if (!update.changed()) {
+            return update.current();
         }
-        event.setTitle(event.getTitle().replaceAll(priorityPattern.pattern(), ""));
-        event.setTitle(event.getTitle().replaceAll(priorityPatternWrong.pattern(), ""));
-        return event;
+        Event previous = update.previous();
+        Event current = update.current();
+        List<String> changed = new ArrayList<>();
+        if (!Objects.equals(previous.getTitle(), current.getTitle())) {
+            changed.add("title");
+        }
+        if (!Objects.equals(previous.getDescription(), current.getDescription())) {
+            changed.add("description");
+        }
+        if (!Objects.equals(previous.getDeadline(), current.getDeadline())) {
+            changed.add("deadline");
+        }
+        if (previous.getPriority() != current.getPriority()) {
+            changed.add("priority");
+        }
+        historyRecorder.edited(id, changed);
+        publisher.publishEvent(EventChange.updated(id));
+        return current;
     }
 
-    public Event makeMakDate(Event event) {
+    @Transactional
+    public Event moveEvent(long id, Long parentId) {
+        lockPath(id, parentId);
+        if (parentId != null && closureRepository.existsByAncestorIdAndDescendantId(id, parentId)) {
+            throw new IllegalArgumentException("An event cannot be moved under itself or its subtasks");
+        }
+        if (parentId != null && !repository.existsById(parentId)) {
+            throw new IllegalArgumentException("Parent event not found");
+        }
+        if (repository.updateParent(id, parentId, LocalDate.now()) == 0) {
+            throw new EntityNotFoundException("Event not found");
+        }
+        closureRepository.detachSubtree(id);
+        if (parentId != null && closureRepository.attachSubtree(id, parentId) == 0) {
+            throw new IllegalArgumentException("Parent event not found");
+        }
+        historyRecorder.edited(id, List.of("parentId"));
+        publisher.publishEvent(EventChange.updated(id));
+        return reload(id);
+    }
 
-        Pattern datePattern = Pattern.compile("!before (\\d{2}-\\d{2}-\\d{4}|\\d{2}\\.\\d{2}\\.\\d{4})");
-        Pattern datePatternWrong = Pattern.compile("!before (\\d{2}.\\d{2}.\\d{4})");
+    /**
+     * Locks the event, the new parent and its ancestors. A concurrent move that could close a
+     * cycle has to move one of them, so it waits until this move commits and then sees it in
+     * its own cycle check.
+     */
+    private void lockPath(long id, Long parentId) {
+        Set<Long> locked = new HashSet<>();
+        Set<Long> path = path(id, parentId);
+        while (!locked.containsAll(path)) {
+            repository.findAllForUpdate(path);
+            locked.addAll(path);
+            // the ancestors may have moved while we were waiting for the locks
+            path = path(id, parentId);
+        }
+    }
 
-        Matcher dateMatcher = datePattern.matcher(event.getTitle());
-        LocalDate dateTime = null;
+    private Set<Long> path(long id, Long parentId) {
+        Set<Long> path = new HashSet<>();
+        path.add(id);
+        if (parentId != null) {
+            path.add(parentId);
+            path.addAll(closureRepository.findAncestorIds(parentId));
+        }
+        return path;
+    }
 
-        if (dateMatcher.find() && event.getDeadline() == null) {
-            String date = event.getTitle().substring(dateMatcher.start() + 8, dateMatcher.end());
+    @Transactional(readOnly = true)
+    public List<String> getTags(long id) {
+        if (!repository.existsById(id)) {
+            throw new EntityNotFoundException("Event not found");
+        }
+        return tagRepository.findByEventIdOrderByTag(id).stream().map(EventTag::getTag).toList();
+    }
 
-            try {
-                if (dateMatcher.group(1).contains("-")) {
-                    dateTime = LocalDate.parse(date, DateTimeFormatter.ofPattern("dd-MM-yyyy"));
-                } else {
-                    dateTime = LocalDate.parse(date, DateTimeFormatter.ofPattern("dd.MM.yyyy"));
-                }
-            } catch (Exception ignored) {
-            }
-            event.setDeadline(dateTime);
+    /**
+     * Replaces the tags of the event.
+     */
+    @Transactional
+    public List<String> tagEvent(long id, Collection<String> tags) {
+        List<String> normalized = TagNames.normalize(tags);
+        if (!repository.existsById(id)) {
+            throw new EntityNotFoundException("Event not found");
         }
-        event.setTitle(event.getTitle().replaceAll(datePattern.pattern(), ""));
-        event.setTitle(event.getTitle().replaceAll(datePatternWrong.pattern(), ""));
-        return event;
+        tagRepository.deleteByEventIds(List.of(id));
+        normalized.forEach(tag -> tagRepository.insert(id, tag));
+        historyRecorder.edited(id, List.of("tags"));
+        publisher.publishEvent(EventChange.updated(id));
+        return normalized;
     }
 
-    public void editEvent(Event event, Long id) {
-        Event task = repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Event not found"));
-        if (!event.getTitle().equals(task.getTitle())) {
-            task.setTitle(event.getTitle());
+    @Transactional
+    public void deleteEvent(long id) {
+        if (deleteEvents(List.of(id)) == 0) {
+            throw new EntityNotFoundException("Event not found");
         }
-        if (!event.getDescription().equals(task.getDescription())) {
-            task.setDescription(event.getDescription());
+    }
+
+    /**
+     * Deletes the given events together with all their subtasks.
+     */
+    @Transactional
+    public long deleteEvents(Collection<Long> ids) {
+        long removed = 0;
+        List<Long> distinct = withSubtasks(ids);
+        for (int from = 0; from < distinct.size(); from += DELETE_CHUNK_SIZE) {
+            removed += removeEvents(distinct.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinct.size())));
         }
-        if (event.getDeadline() != null && !event.getDeadline().equals(task.getDeadline())) {
-            task.setDeadline(event.getDeadline());
+        return removed;
+    }
+
+    /**
+     * Deletes the matching events together with all their subtasks without loading them: the
+     * rows are stamped with a fresh change sequence value, and tombstones, closure rows, tags and
+     * the events themselves are then removed by that value. Like {@link #deleteAllEvents()} this
+     * records no history per event, the tombstones stand in for it.
+     */
+    @Transactional
+    public long deleteEvents(Specification<Event> specification) {
+        long seq = changeSequence.next();
+        if (repository.stampSubtrees(specification, seq) == 0) {
+            return 0;
         }
-        if (!event.getPriority().equals(task.getPriority())) {
-            task.setPriority(event.getPriority());
+        tombstoneRepository.recordByChangeSeq(seq, Instant.now());
+        closureRepository.deleteByDescendantChangeSeq(seq);
+        tagRepository.deleteByEventChangeSeq(seq);
+        int removed = softDelete ? repository.softDeleteByChangeSeq(seq) : repository.deleteByChangeSeq(seq);
+        publisher.publishEvent(EventChange.cleared());
+        return removed;
+    }
+
+    private List<Long> withSubtasks(Collection<Long> ids) {
+        LinkedHashSet<Long> all = new LinkedHashSet<>(ids);
+        List<Long> roots = List.copyOf(all);
+        for (int from = 0; from < roots.size(); from += DELETE_CHUNK_SIZE) {
+            all.addAll(closureRepository.findSubtreeIds(roots.subList(from, Math.min(from + DELETE_CHUNK_SIZE, roots.size()))));
         }
-        repository.save(task);
+        return List.copyOf(all);
+    }
 
+    private int removeEvents(List<Long> ids) {
+        long seq = changeSequence.next();
+        tombstoneRepository.recordByIds(ids, seq, Instant.now());
+        closureRepository.deleteByDescendantIds(ids);
+        tagRepository.deleteByEventIds(ids);
+        int removed = softDelete ? repository.softDeleteByIds(ids, seq) : repository.deleteByIds(ids);
+        if (removed > 0) {
+            ids.forEach(id -> historyRecorder.deleted(id, null));
+            publisher.publishEvent(EventChange.deleted(ids));
+        }
+        return removed;
     }
 
-    public void deleteEvent(long id) {
-        Event task = repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Event not found"));
-        repository.deleteById(id);
+    @Transactional
+    public Event markAsComplete(long id) {
+        return transition(id, COMPLETE);
+    }
 
+    @Transactional
+    public Event markAsUnComplete(long id) {
+        return transition(id, UN_COMPLETE);
     }
 
-    public void markAsComplete(long id) {
-        Event event = repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Event not found"));
-        if (event.getStatus() == Status.Overdue) {
-            event.setStatus(Status.Late);
-        } else {
-            event.setStatus(Status.Completed);
+    /**
+     * Completes the event and all its open subtasks with one update over the subtree.
+     */
+    @Transactional
+    public Event markTreeAsComplete(long id) {
+        LocalDate today = LocalDate.now();
+        List<DeadlineRef> open = repository.findDeadlinesInSubtree(id, OPEN);
+        repository.completeSubtree(id, today);
+        Event event = reload(id);
+        for (DeadlineRef ref : open) {
+            boolean late = ref.status() == Status.Overdue || (ref.deadline() != null && ref.deadline().isBefore(today));
+            historyRecorder.statusChanged(ref.id(), ref.status(), late ? Status.Late : Status.Completed);
         }
-        repository.save(event);
-
+        if (!open.isEmpty()) {
+            publisher.publishEvent(EventChange.updated(open.stream().map(DeadlineRef::id).toList()));
+        }
+        return event;
     }
 
-    public void markAsUnComplete(long id) {
-        Event event = repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Event not found"));
-        if (event != null) {
-            if (event.getStatus() == Status.Late) {
-                event.setStatus(Status.Overdue);
-            } else {
-                event.setStatus(Status.Active);
-            }
-            repository.save(event);
+    private Event transition(long id, Map<Status, Status> transitions) {
+        EventUpdate update = repository.applyTransition(id, transitions, LocalDate.now())
+                .orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        // already in a target status, nothing changed
+        if (update.changed()) {
+            historyRecorder.statusChanged(id, update.previous().getStatus(), update.current().getStatus());
+            publisher.publishEvent(EventChange.updated(id));
         }
+        return update.current();
+    }
+
+    private Event reload(long id) {
+        return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Event not found"));
     }
 
     public Event getById(Long id) {
-        Event event = repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Event not found"));
-        if (event.getDeadline() != null && event.getDeadline().isBefore(LocalDate.now()) && event.getStatus() != Status.Completed && event.getStatus() != Status.Late) {
-            event.setStatus(Status.Overdue);
-            Event task = repository.findById(event.getId()).orElse(null);
-            if (task != null) {
-                task.setStatus(Status.Overdue);
-                repository.save(task);
-            }
-        } else if (event.getDeadline() == null) {
-            event.setStatus(Status.Active);
-            Event task = repository.findById(event.getId()).orElse(null);
-            if (task != null) {
-                task.setStatus(Status.Active);
-                repository.save(task);
-            }
-        } else if (event.getDeadline().isBefore(LocalDate.now()) && event.getStatus() != Status.Completed && event.getStatus() != Status.Late) {
-            event.setStatus(Status.Overdue);
-            Event task = repository.findById(event.getId()).orElse(null);
-            if (task != null) {
-                task.setStatus(Status.Overdue);
-                repository.save(task);
-            }
-        } else if (event.getDeadline() != null && event.getDeadline().isAfter(LocalDate.now()) && event.getStatus() != Status.Completed && event.getStatus() != Status.Late) {
-            event.setStatus(Status.Active);
-            Event task = repository.findById(event.getId()).orElse(null);
-            if (task != null) {
-                task.setStatus(Status.Active);
-                repository.save(task);
-            }
-        } else if (event.getDeadline() != null && event.getDeadline().isBefore(LocalDate.now()) && event.getStatus() == Status.Completed) {
-            event.setStatus(Status.Late);
-            Event task = repository.findById(event.getId()).orElse(null);
-            if (task != null) {
-                task.setStatus(Status.Late);
-                repository.save(task);
-            }
-        } else if (event.getDeadline() != null && event.getDeadline().isAfter(LocalDate.now()) && event.getStatus() == Status.Late) {
-            event.setStatus(Status.Completed);
-            Event task = repository.findById(event.getId()).orElse(null);
-            if (task != null) {
-                task.setStatus(Status.Completed);
-                repository.save(task);
-            }
+        Event event = readTransaction.execute(transaction -> repository.findById(id))
+                .orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        Status previous = event.getStatus();
+        Map<Status, List<Long>> derived = new EnumMap<>(Status.class);
+        deriveStatus(event, EventRules.currentStatus(event, LocalDate.now()), previous, derived);
+        if (!derived.isEmpty()) {
+            statusWriter.persist(derived);
         }
-        return repository.findById(id).orElse(null);
+        return event;
     }
 
+    /**
+     * Deletes all events of the current tenant.
+     */
+    @Transactional
     public void deleteAllEvents() {
-        repository.deleteAll();
+        long seq = changeSequence.next();
+        tombstoneRepository.recordAll(seq, Instant.now());
+        closureRepository.deleteForTenant();
+        tagRepository.deleteForTenant();
+        if (softDelete) {
+            repository.softDeleteAll(seq);
+        } else {
+            repository.deleteAllInBatch();
+        }
+        publisher.publishEvent(EventChange.cleared());
     }
 }
@@ -0,0 +1,29 @@
+package org.service.todo.service;
+
+import org.service.todo.model.Status;
+import org.service.todo.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists statuses derived while reading. {@link EventService} calls it after its read-only
+ * transaction has completed, so a listing never holds a replica and a primary connection at once.
+ */
+@Component
+public class EventStatusWriter {
+
+    private final Repository repository;
+
+    public EventStatusWriter(Repository repository) {
+        this.repository = repository;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void persist(Map<Status, List<Long>> derived) {
+        derived.forEach((status, ids) -> repository.updateStatus(ids, status));
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.Collection;
 
 @Component
 public class EventSpec {
@@ -34,10 +35,44 @@ public class EventSpec {
     }
 
     public static Specification<Event> filterByCreationDate(LocalDate creationDate) {
-        return ((root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("creationDate"), creationDate));
+        return ((root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("createdDate"), creationDate));
     }
 
     public static Specification<Event> filterByEditDate(LocalDate editDate) {
         return ((root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("editDate"), editDate));
     }
+
+    public static Specification<Event> filterByIds(Collection<Long> ids) {
+        return ((root, query, criteriaBuilder) -> root.get("id").in(ids));
+    }
+
+    public static Specification<Event> filterBy(String title, String description, LocalDate deadline, Status status, Priority priority, LocalDate creationDate, LocalDate editDate) {
+        Specification<Event> filter = null;
+        if (title != null) {
+            filter = and(filter, filterByTitle(title));
+        }
+        if (description != null) {
+            filter = and(filter, filterByDescription(description));
+        }
+        if (deadline != null) {
+            filter = and(filter, filterByDeadline(deadline));
+        }
+        if (status != null) {
+            filter = and(filter, filterByStatus(status));
+        }
+        if (priority != null) {
+            filter = and(filter, filterByPriority(priority));
+        }
+        if (creationDate != null) {
+            filter = and(filter, filterByCreationDate(creationDate));
+        }
+        if (editDate != null) {
+            filter = and(filter, filterByEditDate(editDate));
+        }
+        return filter;
+    }
+
+    private static Specification<Event> and(Specification<Event> left, Specification<Event> right) {
+        return left == null ? right : left.and(right);
+    }
 }
@@ -0,0 +1,21 @@
+package org.service.todo.sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.service.todo.model.Event;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class EventSyncPage {
+    private List<Event> upserts;
+
+    private List<Long> deletes;
+
+    private long nextSince;
+
+    private boolean hasMore;
+
+    private boolean fullResync;
+}
@@ -0,0 +1,107 @@
+package org.service.todo.sync;
+
+import org.service.todo.model.Event;
+import org.service.todo.repository.Repository;
+import org.service.todo.service.EventService;
+import org.service.todo.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class EventSyncService {
+
+    private final Repository repository;
+    private final TombstoneRepository tombstoneRepository;
+    private final SyncHorizonRepository horizonRepository;
+    private final EventService eventService;
+    private final SyncWatermark watermark;
+    private final Duration tombstoneRetention;
+
+    public EventSyncService(Repository repository, TombstoneRepository tombstoneRepository, SyncHorizonRepository horizonRepository,
+                            EventService eventService, SyncWatermark watermark, @Value("${todo.sync.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.repository = repository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.horizonRepository = horizonRepository;
+        this.eventService = eventService;
+        this.watermark = watermark;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Transactional(readOnly = true)
+    public EventSyncPage changesSince(long since, int limit) {
+        long horizon = horizonRepository.findById(SyncHorizon.ID).map(SyncHorizon::getCompactedThrough).orElse(0L);
+        if (since < horizon) {
+            return new EventSyncPage(List.of(), List.of(), since, false, true);
+        }
+        // changes at or above the watermark may still sit behind an uncommitted lower seq
+        long safe = watermark.safe();
+        if (safe <= since + 1) {
+            return new EventSyncPage(List.of(), List.of(), since, false, false);
+        }
+        List<Event> changed = repository.findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(since, safe, Limit.of(limit));
+        String tenant = TenantContext.current();
+        List<EventTombstone> removed = tombstoneRepository.findByTenantIdAndChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(tenant, since, safe, Limit.of(limit));
+
+        List<Event> upserts = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        long nextSince = since;
+        boolean endedOnDelete = false;
+        int u = 0;
+        int d = 0;
+        while (upserts.size() + deletes.size() < limit && (u < changed.size() || d < removed.size())) {
+            if (d >= removed.size() || (u < changed.size() && changed.get(u).getChangeSeq() < removed.get(d).getChangeSeq())) {
+                Event event = changed.get(u++);
+                upserts.add(eventService.applyDerivedStatus(event));
+                nextSince = event.getChangeSeq();
+                endedOnDelete = false;
+            } else {
+                EventTombstone tombstone = removed.get(d++);
+                deletes.add(tombstone.getEventId());
+                nextSince = tombstone.getChangeSeq();
+                endedOnDelete = true;
+            }
+        }
+
+        // a bulk delete shares one change seq, so a page must never stop halfway through it
+        boolean groupCut = d < removed.size() ? removed.get(d).getChangeSeq() == nextSince : removed.size() == limit;
+        if (endedOnDelete && groupCut) {
+            Set<Long> seen = new HashSet<>(deletes);
+            for (EventTombstone tombstone : tombstoneRepository.findByTenantIdAndChangeSeq(tenant, nextSince)) {
+                if (seen.add(tombstone.getEventId())) {
+                    deletes.add(tombstone.getEventId());
+                }
+            }
+            while (d < removed.size() && removed.get(d).getChangeSeq() == nextSince) {
+                d++;
+            }
+        }
+
+        boolean hasMore = u < changed.size() || d < removed.size() || changed.size() == limit || removed.size() == limit;
+        return new EventSyncPage(upserts, deletes, nextSince, hasMore, false);
+    }
+
+    @Scheduled(fixedDelayString = "${todo.sync.compaction-interval:PT1H}")
+    @Transactional
+    public void compactTombstones() {
+        Long through = tombstoneRepository.maxChangeSeqDeletedBefore(Instant.now().minus(tombstoneRetention));
+        if (through == null) {
+            return;
+        }
+        tombstoneRepository.deleteThrough(through);
+        SyncHorizon horizon = horizonRepository.findById(SyncHorizon.ID).orElse(new SyncHorizon(SyncHorizon.ID, 0L, null));
+        if (horizon.getCompactedThrough() < through) {
+            horizon.setCompactedThrough(through);
+            horizonRepository.save(horizon);
+        }
+    }
+}
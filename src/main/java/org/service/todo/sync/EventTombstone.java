@@ -0,0 +1,34 @@
+package org.service.todo.sync;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "event_tombstone", indexes = {
+        @Index(name = "idx_event_tombstone_change_seq", columnList = "change_seq"),
+        @Index(name = "idx_event_tombstone_tenant", columnList = "tenant_id, change_seq")
+})
+public class EventTombstone {
+    @Id
+    private Long eventId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+
+    @Column(name = "tenant_id", length = 64, nullable = false, columnDefinition = "varchar(64) default 'default'")
+    private String tenantId;
+}
@@ -0,0 +1,27 @@
+package org.service.todo.sync;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "event_sync_horizon")
+public class SyncHorizon {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    private Long compactedThrough;
+
+    /**
+     * Last {@link SyncWatermark#safe()} any instance reached, seeds the watermark after a restart.
+     */
+    private Long safeThrough;
+}
@@ -0,0 +1,15 @@
+package org.service.todo.sync;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Component;
+
+@Component
+public interface SyncHorizonRepository extends JpaRepository<SyncHorizon, Integer> {
+
+    @Modifying
+    @Query("update SyncHorizon h set h.safeThrough = :safe where h.id = :id and (h.safeThrough is null or h.safeThrough < :safe)")
+    int raiseSafeThrough(@Param("id") int id, @Param("safe") long safe);
+}
@@ -0,0 +1,60 @@
+package org.service.todo.sync;
+
+import org.service.todo.change.ChangeSequence;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Change sequence values are taken before commit, so a higher value can become visible while a
+ * lower one is still in flight. Every {@code todo.sync.commit-grace} this takes a fresh value
+ * and promotes the one taken a period earlier to the watermark: every transaction holding a
+ * lower value had a whole grace period to commit or roll back. Sync only serves changes below
+ * the watermark, so a page can never move past a change that commits later.
+ * <p>
+ * Every promoted value is also stored in {@link SyncHorizon#getSafeThrough()}. A value that was
+ * safe stays safe, so after a restart the watermark starts from the stored one, at most a grace
+ * period behind the sequence, instead of serving empty pages until it has caught up again.
+ */
+@Component
+public class SyncWatermark {
+
+    private final ChangeSequence changeSequence;
+    private final SyncHorizonRepository horizonRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile long safe;
+    private long pending;
+    private boolean seeded;
+
+    public SyncWatermark(ChangeSequence changeSequence, SyncHorizonRepository horizonRepository, TransactionTemplate transactionTemplate) {
+        this.changeSequence = changeSequence;
+        this.horizonRepository = horizonRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Every change sequence value below this belongs to a finished transaction.
+     */
+    public long safe() {
+        return safe;
+    }
+
+    @Scheduled(fixedDelayString = "${todo.sync.commit-grace:PT5S}")
+    public synchronized void advance() {
+        Long next = transactionTemplate.execute(status -> {
+            if (!seeded) {
+                horizonRepository.findById(SyncHorizon.ID)
+                        .map(SyncHorizon::getSafeThrough)
+                        .ifPresent(stored -> safe = Math.max(safe, stored));
+                seeded = true;
+            }
+            if (pending > safe && horizonRepository.raiseSafeThrough(SyncHorizon.ID, pending) == 0 && !horizonRepository.existsById(SyncHorizon.ID)) {
+                horizonRepository.save(new SyncHorizon(SyncHorizon.ID, 0L, pending));
+            }
+            return changeSequence.next();
+        });
+        safe = Math.max(safe, pending);
+        pending = next == null ? pending : next;
+    }
+}
@@ -0,0 +1,42 @@
+package org.service.todo.sync;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public interface TombstoneRepository extends JpaRepository<EventTombstone, Long> {
+    List<EventTombstone> findByTenantIdAndChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(String tenantId, long since, long watermark, Limit limit);
+
+    List<EventTombstone> findByTenantIdAndChangeSeq(String tenantId, long changeSeq);
+
+    /**
+     * Tombstones for every event of the current tenant; the tenant filter on {@code Event}
+     * scopes the select.
+     */
+    @Modifying
+    @Query("insert into EventTombstone (eventId, changeSeq, deletedAt, tenantId) select e.id, :changeSeq, :deletedAt, e.tenantId from Event e")
+    int recordAll(@Param("changeSeq") long changeSeq, @Param("deletedAt") Instant deletedAt);
+
+    @Modifying
+    @Query("insert into EventTombstone (eventId, changeSeq, deletedAt, tenantId) select e.id, :changeSeq, :deletedAt, e.tenantId from Event e where e.id in :ids")
+    int recordByIds(@Param("ids") Collection<Long> ids, @Param("changeSeq") long changeSeq, @Param("deletedAt") Instant deletedAt);
+
+    @Modifying
+    @Query("insert into EventTombstone (eventId, changeSeq, deletedAt, tenantId) select e.id, e.changeSeq, :deletedAt, e.tenantId from Event e where e.changeSeq = :changeSeq")
+    int recordByChangeSeq(@Param("changeSeq") long changeSeq, @Param("deletedAt") Instant deletedAt);
+
+    @Query("select max(t.changeSeq) from EventTombstone t where t.deletedAt < :cutoff")
+    Long maxChangeSeqDeletedBefore(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("delete from EventTombstone t where t.changeSeq <= :changeSeq")
+    int deleteThrough(@Param("changeSeq") long changeSeq);
+}
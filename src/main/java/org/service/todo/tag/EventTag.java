@@ -0,0 +1,37 @@
+package org.service.todo.tag;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@IdClass(EventTag.Key.class)
+@Table(name = "event_tag", indexes = @Index(name = "idx_event_tag_tag", columnList = "tag, event_id"))
+public class EventTag {
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Id
+    @Column(length = 64)
+    private String tag;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private Long eventId;
+        private String tag;
+    }
+}
@@ -0,0 +1,37 @@
+package org.service.todo.tag;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public interface EventTagRepository extends JpaRepository<EventTag, EventTag.Key> {
+    List<EventTag> findByEventIdOrderByTag(long eventId);
+
+    List<EventTag> findByEventIdIn(Collection<Long> eventIds);
+
+    @Modifying
+    @Query("insert into EventTag (eventId, tag) values (:eventId, :tag)")
+    int insert(@Param("eventId") long eventId, @Param("tag") String tag);
+
+    /**
+     * Deletes the tags of those ids that are events of the current tenant, so it has to run
+     * before the events themselves are deleted.
+     */
+    @Modifying
+    @Query("delete from EventTag t where t.eventId in :ids and exists (select 1 from Event e where e.id = t.eventId)")
+    int deleteByEventIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from EventTag t where t.eventId in (select e.id from Event e where e.changeSeq = :changeSeq)")
+    int deleteByEventChangeSeq(@Param("changeSeq") long changeSeq);
+
+    @Modifying
+    @Query("delete from EventTag t where exists (select 1 from Event e where e.id = t.eventId)")
+    int deleteForTenant();
+}
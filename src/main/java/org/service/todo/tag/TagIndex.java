@@ -0,0 +1,402 @@
+package org.service.todo.tag;
+
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.service.todo.invalidation.Invalidation;
+import org.service.todo.invalidation.InvalidationListener;
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+import org.service.todo.repository.Repository;
+import org.service.todo.tenant.TenantContext;
+import org.service.todo.urgency.UrgentEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Compressed bitmaps over event ids: one per tenant, per tag, per stored status, per priority and
+ * per deadline day. Every query starts from the bitmap of the current tenant. A tag query is a handful of AND/OR/ANDNOT operations on these and never touches
+ * the database. Listed statuses are derived from the stored-status and deadline bitmaps the same
+ * way {@link org.service.todo.service.EventRules#listedStatus} derives them per event.
+ * Maintenance follows the pattern of the urgency index: invalidations re-read the touched ids on
+ * a loader thread, a full rebuild builds fresh bitmaps and swaps them in, clearing a tenant
+ * reloads only its events. The bitmaps hold 32-bit ids; events with larger ids are left out of
+ * the index and logged.
+ */
+@Slf4j
+@Component
+public class TagIndex implements InvalidationListener {
+
+    private static final List<Status> ALL_STATUSES = List.of(Status.values());
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private static final class Bitmaps {
+        final RoaringBitmap all = new RoaringBitmap();
+        final RoaringBitmap dated = new RoaringBitmap();
+        final Map<String, RoaringBitmap> byTenant = new HashMap<>();
+        final Map<String, RoaringBitmap> byTag = new HashMap<>();
+        final Map<Status, RoaringBitmap> byStatus = new EnumMap<>(Status.class);
+        final Map<Priority, RoaringBitmap> byPriority = new EnumMap<>(Priority.class);
+        final NavigableMap<Long, RoaringBitmap> byDeadline = new TreeMap<>();
+
+        Bitmaps() {
+            for (Status status : Status.values()) {
+                byStatus.put(status, new RoaringBitmap());
+            }
+            for (Priority priority : Priority.values()) {
+                byPriority.put(priority, new RoaringBitmap());
+            }
+        }
+
+        boolean add(UrgentEvent event, Collection<String> tags) {
+            if (!indexable(event.id())) {
+                return false;
+            }
+            int id = event.id().intValue();
+            all.add(id);
+            byTenant.computeIfAbsent(event.tenantId(), tenant -> new RoaringBitmap()).add(id);
+            byStatus.get(event.status()).add(id);
+            if (event.priority() != null) {
+                byPriority.get(event.priority()).add(id);
+            }
+            if (event.deadline() != null) {
+                dated.add(id);
+                byDeadline.computeIfAbsent(event.deadline().toEpochDay(), day -> new RoaringBitmap()).add(id);
+            }
+            tags.forEach(tag -> byTag.computeIfAbsent(tag, t -> new RoaringBitmap()).add(id));
+            return true;
+        }
+
+        void removeAll(RoaringBitmap ids) {
+            all.andNot(ids);
+            dated.andNot(ids);
+            byStatus.values().forEach(bitmap -> bitmap.andNot(ids));
+            byPriority.values().forEach(bitmap -> bitmap.andNot(ids));
+            byTenant.values().removeIf(bitmap -> {
+                bitmap.andNot(ids);
+                return bitmap.isEmpty();
+            });
+            byTag.values().removeIf(bitmap -> {
+                bitmap.andNot(ids);
+                return bitmap.isEmpty();
+            });
+            byDeadline.values().removeIf(bitmap -> {
+                bitmap.andNot(ids);
+                return bitmap.isEmpty();
+            });
+        }
+
+        void removeTenant(String tenant) {
+            RoaringBitmap owned = byTenant.get(tenant);
+            if (owned != null) {
+                removeAll(owned.clone());
+            }
+        }
+
+        void runOptimize() {
+            all.runOptimize();
+            dated.runOptimize();
+            byStatus.values().forEach(RoaringBitmap::runOptimize);
+            byPriority.values().forEach(RoaringBitmap::runOptimize);
+            byTenant.values().forEach(RoaringBitmap::runOptimize);
+            byTag.values().forEach(RoaringBitmap::runOptimize);
+        }
+    }
+
+    private record Loaded(List<UrgentEvent> events, Map<Long, List<String>> tags) {
+        void addTo(Bitmaps target) {
+            int skipped = 0;
+            for (UrgentEvent event : events) {
+                if (!target.add(event, tags.getOrDefault(event.id(), List.of()))) {
+                    skipped++;
+                }
+            }
+            if (skipped > 0) {
+                log.warn("Left {} events with ids above {} out of the tag index, first id {}", skipped, Integer.MAX_VALUE,
+                        events.stream().map(UrgentEvent::id).filter(id -> !indexable(id)).findFirst().orElseThrow());
+            }
+        }
+    }
+
+    private final Repository repository;
+    private final EventTagRepository tagRepository;
+    private final TransactionTemplate readTransaction;
+    private final int scanPageSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tag-index-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // written by the loader thread only, under the write lock
+    private Bitmaps bitmaps = new Bitmaps();
+
+    public TagIndex(Repository repository, EventTagRepository tagRepository, PlatformTransactionManager transactionManager,
+                    @Value("${todo.tags.scan-page-size:5000}") int scanPageSize) {
+        this.repository = repository;
+        this.tagRepository = tagRepository;
+        // invalidations of local changes arrive after commit, so lookups need a transaction of their own
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.scanPageSize = scanPageSize;
+    }
+
+    /**
+     * Up to {@code limit} matching ids greater than {@code after}, in ascending order.
+     */
+    public List<Long> find(TagQuery query, long after, int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, 1024));
+        if (after >= Integer.MAX_VALUE) {
+            return ids;
+        }
+        PeekableIntIterator iterator = evaluate(query).getIntIterator();
+        iterator.advanceIfNeeded((int) Math.max(after + 1, 0));
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add((long) iterator.next());
+        }
+        return ids;
+    }
+
+    public int count(TagQuery query) {
+        return evaluate(query).getCardinality();
+    }
+
+    /**
+     * Number of indexed events of the current tenant per tag.
+     */
+    public Map<String, Integer> tagCounts() {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap owned = owned(bitmaps);
+            Map<String, Integer> counts = new TreeMap<>();
+            bitmaps.byTag.forEach((tag, bitmap) -> {
+                int count = RoaringBitmap.andCardinality(bitmap, owned);
+                if (count > 0) {
+                    counts.put(tag, count);
+                }
+            });
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return bitmaps.all.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap evaluate(TagQuery query) {
+        LocalDate today = LocalDate.now();
+        lock.readLock().lock();
+        try {
+            Bitmaps current = bitmaps;
+            RoaringBitmap result = intersect(current, owned(current), query.all());
+            if (!query.any().isEmpty()) {
+                result.and(union(query.any().stream().map(current.byTag::get)));
+            }
+            if (!query.none().isEmpty()) {
+                result.andNot(union(query.none().stream().map(current.byTag::get)));
+            }
+            if (!query.priorities().isEmpty()) {
+                result.and(union(query.priorities().stream().map(current.byPriority::get)));
+            }
+            if (!query.statuses().isEmpty()) {
+                result.and(listed(current, query.statuses(), today));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static RoaringBitmap owned(Bitmaps current) {
+        return current.byTenant.getOrDefault(TenantContext.current(), EMPTY);
+    }
+
+    private static RoaringBitmap intersect(Bitmaps current, RoaringBitmap owned, Set<String> tags) {
+        if (tags.isEmpty()) {
+            return owned.clone();
+        }
+        List<RoaringBitmap> required = new ArrayList<>(tags.size() + 1);
+        required.add(owned);
+        for (String tag : tags) {
+            RoaringBitmap bitmap = current.byTag.get(tag);
+            if (bitmap == null) {
+                return new RoaringBitmap();
+            }
+            required.add(bitmap);
+        }
+        // smallest first, so every following AND works on the shortest possible result
+        required.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+        RoaringBitmap result = required.get(0).clone();
+        for (int i = 1; i < required.size() && !result.isEmpty(); i++) {
+            result.and(required.get(i));
+        }
+        return result;
+    }
+
+    private static RoaringBitmap union(Stream<RoaringBitmap> bitmaps) {
+        return RoaringBitmap.or(bitmaps.filter(Objects::nonNull).iterator());
+    }
+
+    private static RoaringBitmap listed(Bitmaps current, Set<Status> statuses, LocalDate today) {
+        RoaringBitmap pastDue = RoaringBitmap.or(current.byDeadline.headMap(today.toEpochDay()).values().iterator());
+        RoaringBitmap result = new RoaringBitmap();
+        for (Status status : statuses) {
+            RoaringBitmap stored = RoaringBitmap.and(current.byStatus.get(status), current.dated);
+            switch (status) {
+                case Active -> {
+                    stored.andNot(pastDue);
+                    result.or(stored);
+                    result.or(RoaringBitmap.andNot(current.all, current.dated));
+                }
+                case Overdue -> {
+                    result.or(stored);
+                    result.or(RoaringBitmap.and(RoaringBitmap.or(current.byStatus.get(Status.Active), current.byStatus.get(Status.Overdue)), pastDue));
+                }
+                default -> result.or(stored);
+            }
+        }
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loader.execute(this::rebuild);
+    }
+
+    /**
+     * Completes once the maintenance queued so far has run.
+     */
+    public CompletableFuture<Void> idle() {
+        return CompletableFuture.runAsync(() -> {
+        }, loader);
+    }
+
+    @Override
+    public void onInvalidation(Invalidation invalidation) {
+        // the loader runs maintenance in arrival order, ids invalidated during a rebuild are re-read after it
+        if (invalidation.all()) {
+            Set<String> tenants = invalidation.tenants();
+            loader.execute(() -> rebuild(tenants));
+        } else if (!invalidation.ids().isEmpty()) {
+            Set<Long> ids = invalidation.ids();
+            loader.execute(() -> refresh(ids));
+        }
+    }
+
+    void rebuild() {
+        rebuild(Set.of());
+    }
+
+    /**
+     * Rebuilds the bitmaps of {@code tenants}, or the whole index when empty.
+     */
+    void rebuild(Set<String> tenants) {
+        Bitmaps rebuilt = new Bitmaps();
+        List<Loaded> pages = new ArrayList<>();
+        if (tenants.isEmpty()) {
+            scan(TenantContext.ROOT, page -> page.addTo(rebuilt));
+            rebuilt.runOptimize();
+        } else {
+            tenants.forEach(tenant -> scan(tenant, pages::add));
+        }
+        lock.writeLock().lock();
+        try {
+            if (tenants.isEmpty()) {
+                bitmaps = rebuilt;
+            } else {
+                tenants.forEach(bitmaps::removeTenant);
+                pages.forEach(page -> page.addTo(bitmaps));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        int loaded = tenants.isEmpty() ? rebuilt.all.getCardinality() : pages.stream().mapToInt(page -> page.events().size()).sum();
+        log.info("Loaded {} events of {} into the tag index", loaded, tenants.isEmpty() ? "all tenants" : tenants);
+    }
+
+    private void scan(String tenant, Consumer<Loaded> sink) {
+        long after = 0;
+        while (true) {
+            long from = after;
+            Loaded page = load(tenant, () -> repository.findUrgentAfter(from, ALL_STATUSES, Limit.of(scanPageSize)));
+            if (page.events().isEmpty()) {
+                break;
+            }
+            sink.accept(page);
+            after = page.events().get(page.events().size() - 1).id();
+        }
+    }
+
+    private void refresh(Collection<Long> ids) {
+        List<Long> all = List.copyOf(ids);
+        for (int from = 0; from < all.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = all.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, all.size()));
+            Loaded found = load(TenantContext.ROOT, () -> repository.findUrgentByIds(chunk));
+            RoaringBitmap touched = new RoaringBitmap();
+            chunk.stream().filter(TagIndex::indexable).forEach(id -> touched.add(id.intValue()));
+            lock.writeLock().lock();
+            try {
+                bitmaps.removeAll(touched);
+                found.addTo(bitmaps);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static boolean indexable(long id) {
+        return id >= 0 && id <= Integer.MAX_VALUE;
+    }
+
+    private Loaded load(String tenant, Supplier<List<UrgentEvent>> query) {
+        // the index spans all tenants, a tenant rebuild scans only its own rows
+        Loaded loaded = TenantContext.callAs(tenant, () -> readTransaction.execute(status -> {
+            List<UrgentEvent> events = query.get();
+            List<Long> ids = events.stream().map(UrgentEvent::id).toList();
+            Map<Long, List<String>> tags = new HashMap<>();
+            for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK_SIZE) {
+                tagRepository.findByEventIdIn(ids.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, ids.size())))
+                        .forEach(tag -> tags.computeIfAbsent(tag.getEventId(), id -> new ArrayList<>()).add(tag.getTag()));
+            }
+            return new Loaded(events, tags);
+        }));
+        return loaded == null ? new Loaded(List.of(), Map.of()) : loaded;
+    }
+}
@@ -0,0 +1,38 @@
+package org.service.todo.tag;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Tags are compared case-insensitively and stored in lower case, e.g. {@code team:backend}.
+ */
+public final class TagNames {
+
+    private static final Pattern TAG = Pattern.compile("[a-z0-9][a-z0-9_.:-]{0,63}");
+    private static final int MAX_TAGS = 32;
+
+    private TagNames() {
+    }
+
+    public static String normalize(String tag) {
+        String normalized = tag == null ? "" : tag.trim().toLowerCase(Locale.ROOT);
+        if (!TAG.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("Invalid tag '" + tag + "'");
+        }
+        return normalized;
+    }
+
+    public static List<String> normalize(Collection<String> tags) {
+        TreeSet<String> normalized = new TreeSet<>();
+        if (tags != null) {
+            tags.forEach(tag -> normalized.add(normalize(tag)));
+        }
+        if (normalized.size() > MAX_TAGS) {
+            throw new IllegalArgumentException("At most " + MAX_TAGS + " tags per event");
+        }
+        return List.copyOf(normalized);
+    }
+}
@@ -0,0 +1,21 @@
+package org.service.todo.tag;
+
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Events carrying every tag of {@code all}, at least one of {@code any} and none of
+ * {@code none}, restricted to the given listed statuses and priorities. Empty sets do not
+ * restrict.
+ */
+public record TagQuery(Set<String> all, Set<String> any, Set<String> none, Set<Status> statuses, Set<Priority> priorities) {
+
+    public static TagQuery of(Collection<String> all, Collection<String> any, Collection<String> none,
+                              Collection<Status> statuses, Collection<Priority> priorities) {
+        return new TagQuery(Set.copyOf(TagNames.normalize(all)), Set.copyOf(TagNames.normalize(any)), Set.copyOf(TagNames.normalize(none)),
+                statuses == null ? Set.of() : Set.copyOf(statuses), priorities == null ? Set.of() : Set.copyOf(priorities));
+    }
+}
@@ -0,0 +1,26 @@
+package org.service.todo.tenant;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class TenantConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer tenantIdentifierResolver() {
+        return properties -> properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new TenantIdentifierResolver());
+    }
+
+    @Bean
+    public FilterRegistrationBean<TenantFilter> tenantFilter(@Value("${todo.tenant.required:false}") boolean required) {
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(new TenantFilter(required));
+        // ahead of admission control, which budgets per tenant
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,76 @@
+package org.service.todo.tenant;
+
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Tenant of the current thread. Requests get theirs from {@link TenantFilter}; code running
+ * outside a request works on the default tenant unless it explicitly runs as {@link #ROOT},
+ * which Hibernate treats as seeing every tenant. Background jobs that maintain cross-tenant
+ * state (indexes, reminders, backfills) run as root.
+ */
+public final class TenantContext {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+    public static final String DEFAULT = "default";
+    public static final String ROOT = "*";
+
+    private static final Pattern TENANT = Pattern.compile("[a-z0-9][a-z0-9_-]{0,63}");
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String current() {
+        String tenant = CURRENT.get();
+        return tenant == null ? DEFAULT : tenant;
+    }
+
+    public static boolean isRoot() {
+        return ROOT.equals(CURRENT.get());
+    }
+
+    public static void set(String tenant) {
+        CURRENT.set(tenant);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static String validate(String tenant) {
+        if (tenant == null || !TENANT.matcher(tenant).matches()) {
+            throw new IllegalArgumentException("Invalid tenant '" + tenant + "'");
+        }
+        return tenant;
+    }
+
+    public static <T> T callAs(String tenant, Supplier<T> action) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void runAs(String tenant, Runnable action) {
+        callAs(tenant, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static <T> T callAsRoot(Supplier<T> action) {
+        return callAs(ROOT, action);
+    }
+
+    public static void runAsRoot(Runnable action) {
+        runAs(ROOT, action);
+    }
+}
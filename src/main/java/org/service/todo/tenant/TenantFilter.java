@@ -0,0 +1,41 @@
+package org.service.todo.tenant;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the request to the tenant named by {@code X-Tenant-Id}. Requests without the header
+ * belong to the default tenant unless {@code todo.tenant.required} is set.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+    private final boolean required;
+
+    public TenantFilter(boolean required) {
+        this.required = required;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        String header = request.getHeader(TenantContext.TENANT_HEADER);
+        String tenant;
+        try {
+            tenant = header == null && !required ? TenantContext.DEFAULT : TenantContext.validate(header);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        TenantContext.set(tenant);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
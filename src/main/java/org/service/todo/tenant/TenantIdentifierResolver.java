@@ -0,0 +1,25 @@
+package org.service.todo.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Hands the thread's tenant to Hibernate, which filters every query on an {@code @TenantId}
+ * entity by it and stamps it on inserts. Native queries are not filtered.
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.current();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(String tenantId) {
+        return TenantContext.ROOT.equals(tenantId);
+    }
+}
@@ -0,0 +1,202 @@
+package org.service.todo.urgency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.service.todo.invalidation.Invalidation;
+import org.service.todo.invalidation.InvalidationListener;
+import org.service.todo.model.Status;
+import org.service.todo.repository.Repository;
+import org.service.todo.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * In-memory ordering of all open (not Completed or Late) events by urgency. Keys lead with the
+ * tenant, so a read walks the head of its tenant's range of a skip list and never touches the
+ * database, however many events other tenants hold; writes follow invalidations and re-read only the
+ * touched ids on a loader thread, off the request path. A full rebuild (startup) builds a fresh
+ * index and swaps it in; clearing a tenant only rebuilds that tenant's range. Ids invalidated
+ * meanwhile are queued behind it and re-read right after the swap.
+ */
+@Slf4j
+@Component
+public class UrgencyIndex implements InvalidationListener {
+
+    private static final List<Status> OPEN = List.of(Status.Active, Status.Overdue);
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private record Entries(ConcurrentNavigableMap<UrgencyKey, UrgentEvent> byUrgency, Map<Long, UrgencyKey> byId) {
+        Entries() {
+            this(new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>());
+        }
+
+        void put(UrgentEvent event) {
+            remove(event.id());
+            if (OPEN.contains(event.status())) {
+                UrgencyKey key = UrgencyKey.of(event);
+                byUrgency.put(key, event);
+                byId.put(event.id(), key);
+            }
+        }
+
+        void remove(Long id) {
+            UrgencyKey key = byId.remove(id);
+            if (key != null) {
+                byUrgency.remove(key);
+            }
+        }
+
+        void removeTenant(String tenant) {
+            // no tenant sorts between a name and the name followed by the lowest character
+            Map<UrgencyKey, UrgentEvent> range = byUrgency.subMap(UrgencyKey.first(tenant), UrgencyKey.first(tenant + Character.MIN_VALUE));
+            range.keySet().forEach(key -> byId.remove(key.id()));
+            range.clear();
+        }
+    }
+
+    private final Repository repository;
+    private final TransactionTemplate readTransaction;
+    private final int scanPageSize;
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "urgency-index-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // written by the loader thread only
+    private volatile Entries entries = new Entries();
+
+    public UrgencyIndex(Repository repository, PlatformTransactionManager transactionManager,
+                        @Value("${todo.urgency.scan-page-size:5000}") int scanPageSize) {
+        this.repository = repository;
+        // invalidations of local changes arrive after commit, so lookups need a transaction of their own
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.scanPageSize = scanPageSize;
+    }
+
+    public List<UrgentEvent> top(int k) {
+        return top(k, event -> true);
+    }
+
+    /**
+     * The {@code k} most urgent events of the current tenant matching {@code filter}, which sees
+     * derived statuses.
+     */
+    public List<UrgentEvent> top(int k, Predicate<UrgentEvent> filter) {
+        LocalDate today = LocalDate.now();
+        String tenant = TenantContext.current();
+        List<UrgentEvent> top = new ArrayList<>(k);
+        for (Map.Entry<UrgencyKey, UrgentEvent> entry : entries.byUrgency().tailMap(UrgencyKey.first(tenant)).entrySet()) {
+            if (top.size() == k || !tenant.equals(entry.getKey().tenant())) {
+                break;
+            }
+            UrgentEvent event = entry.getValue();
+            if (event.status() == Status.Active && entry.getKey().isOverdue(today)) {
+                event = event.withStatus(Status.Overdue);
+            }
+            if (filter.test(event)) {
+                top.add(event);
+            }
+        }
+        return top;
+    }
+
+    public int size() {
+        return entries.byId().size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loader.execute(this::rebuild);
+    }
+
+    /**
+     * Completes once the maintenance queued so far has run.
+     */
+    public CompletableFuture<Void> idle() {
+        return CompletableFuture.runAsync(() -> {
+        }, loader);
+    }
+
+    @Override
+    public void onInvalidation(Invalidation invalidation) {
+        // the loader runs maintenance in arrival order, ids invalidated during a rebuild are re-read after it
+        if (invalidation.all()) {
+            Set<String> tenants = invalidation.tenants();
+            loader.execute(() -> rebuild(tenants));
+        } else if (!invalidation.ids().isEmpty()) {
+            Set<Long> ids = invalidation.ids();
+            loader.execute(() -> refresh(entries, ids));
+        }
+    }
+
+    void rebuild() {
+        rebuild(Set.of());
+    }
+
+    /**
+     * Rebuilds the ranges of {@code tenants}, or the whole index when empty.
+     */
+    void rebuild(Set<String> tenants) {
+        Entries rebuilt = new Entries();
+        if (tenants.isEmpty()) {
+            scan(rebuilt, TenantContext.ROOT);
+        } else {
+            tenants.forEach(tenant -> scan(rebuilt, tenant));
+        }
+        if (tenants.isEmpty()) {
+            entries = rebuilt;
+        } else {
+            tenants.forEach(entries::removeTenant);
+            rebuilt.byUrgency().values().forEach(entries::put);
+        }
+        log.info("Loaded {} open events of {} into the urgency index", rebuilt.byId().size(), tenants.isEmpty() ? "all tenants" : tenants);
+    }
+
+    private void scan(Entries target, String tenant) {
+        List<UrgentEvent> page = lookup(tenant, () -> repository.findUrgentAfter(0, OPEN, Limit.of(scanPageSize)));
+        while (!page.isEmpty()) {
+            page.forEach(target::put);
+            long from = page.get(page.size() - 1).id();
+            page = lookup(tenant, () -> repository.findUrgentAfter(from, OPEN, Limit.of(scanPageSize)));
+        }
+    }
+
+    private void refresh(Entries target, Collection<Long> ids) {
+        List<Long> all = List.copyOf(ids);
+        for (int from = 0; from < all.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = all.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, all.size()));
+            List<UrgentEvent> found = lookup(TenantContext.ROOT, () -> repository.findUrgentByIds(chunk));
+            chunk.forEach(target::remove);
+            found.forEach(target::put);
+        }
+    }
+
+    private List<UrgentEvent> lookup(String tenant, Supplier<List<UrgentEvent>> query) {
+        // the index spans all tenants, a tenant rebuild scans only its own rows
+        List<UrgentEvent> result = TenantContext.callAs(tenant, () -> readTransaction.execute(status -> query.get()));
+        return result == null ? List.of() : result;
+    }
+}
@@ -0,0 +1,45 @@
+package org.service.todo.urgency;
+
+import org.service.todo.model.Priority;
+
+import java.time.LocalDate;
+
+/**
+ * Sort key of the urgency index: tenant first so every tenant owns one contiguous range, then
+ * Critical first, then nearest deadline (none last), then id.
+ */
+record UrgencyKey(String tenant, int rank, long deadlineDay, long id) implements Comparable<UrgencyKey> {
+
+    private static final int LAST_RANK = Priority.values().length;
+
+    static UrgencyKey of(UrgentEvent event) {
+        int rank = event.priority() == null ? LAST_RANK : LAST_RANK - 1 - event.priority().ordinal();
+        long deadlineDay = event.deadline() == null ? Long.MAX_VALUE : event.deadline().toEpochDay();
+        return new UrgencyKey(event.tenantId(), rank, deadlineDay, event.id());
+    }
+
+    /**
+     * Sorts before every key of the tenant.
+     */
+    static UrgencyKey first(String tenant) {
+        return new UrgencyKey(tenant, Integer.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE);
+    }
+
+    @Override
+    public int compareTo(UrgencyKey other) {
+        int byTenant = tenant.compareTo(other.tenant);
+        if (byTenant != 0) {
+            return byTenant;
+        }
+        int byRank = Integer.compare(rank, other.rank);
+        if (byRank != 0) {
+            return byRank;
+        }
+        int byDeadline = Long.compare(deadlineDay, other.deadlineDay);
+        return byDeadline != 0 ? byDeadline : Long.compare(id, other.id);
+    }
+
+    boolean isOverdue(LocalDate today) {
+        return deadlineDay < today.toEpochDay();
+    }
+}
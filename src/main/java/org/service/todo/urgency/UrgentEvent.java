@@ -0,0 +1,19 @@
+package org.service.todo.urgency;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+import org.service.todo.tenant.TenantContext;
+
+import java.time.LocalDate;
+
+public record UrgentEvent(Long id, String title, LocalDate deadline, Priority priority, Status status, @JsonIgnore String tenantId) {
+
+    public UrgentEvent(Long id, String title, LocalDate deadline, Priority priority, Status status) {
+        this(id, title, deadline, priority, status, TenantContext.DEFAULT);
+    }
+
+    UrgentEvent withStatus(Status status) {
+        return new UrgentEvent(id, title, deadline, priority, status, tenantId);
+    }
+}
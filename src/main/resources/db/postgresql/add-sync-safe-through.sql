@@ -0,0 +1,3 @@
+-- Adds the column the sync watermark is stored in, so it survives a restart. Run once before
+-- deploying a version that maps SyncHorizon.safeThrough (ddl-auto=validate checks for it).
+alter table event_sync_horizon add column if not exists safe_through bigint;
@@ -0,0 +1,27 @@
+-- Turns event into a table hash-partitioned by tenant, so a tenant's queries only ever touch
+-- its own partition and the indexes of a large tenant do not slow down the others.
+-- PostgreSQL only. Run once with the application stopped, after it has added the tenant_id
+-- column (spring.jpa.hibernate.ddl-auto=update). The primary key becomes (tenant_id, id), which
+-- is what PostgreSQL requires of a partitioned table; ids stay unique through event_seq.
+begin;
+
+alter table event rename to event_unpartitioned;
+
+create table event (like event_unpartitioned including defaults) partition by hash (tenant_id);
+alter table event add primary key (tenant_id, id);
+
+do $$
+begin
+    for i in 0..15 loop
+        execute format('create table event_p%s partition of event for values with (modulus 16, remainder %s)', i, i);
+    end loop;
+end $$;
+
+insert into event select * from event_unpartitioned;
+drop table event_unpartitioned;
+
+create index idx_event_change_seq on event (tenant_id, change_seq);
+create index idx_event_tenant on event (tenant_id, id);
+create index idx_event_deadline on event (deadline, id);
+
+commit;
@@ -0,0 +1 @@
+create sequence if not exists event_change_seq;
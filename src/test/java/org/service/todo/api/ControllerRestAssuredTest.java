@@ -9,17 +9,23 @@ import org.junit.jupiter.api.Test;
 import org.service.todo.mapper.EventMapperAdd;
 import org.service.todo.model.*;
 import org.service.todo.service.EventService;
+import org.service.todo.sync.TombstoneRepository;
+import org.service.todo.tenant.TenantContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class ControllerRestAssuredTest {
@@ -33,6 +39,9 @@ class ControllerRestAssuredTest {
     @Autowired
     private EventMapperAdd eventMapperAdd;
 
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
     @BeforeAll
     static void setup() {
         RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
@@ -47,6 +56,7 @@ class ControllerRestAssuredTest {
     @AfterEach
     void cleanup() {
         eventService.deleteAllEvents();
+        TenantContext.runAs("acme", eventService::deleteAllEvents);
     }
 
     private EventDTOAdd createTestEventDTOAdd() {
@@ -183,6 +193,22 @@ class ControllerRestAssuredTest {
                 .statusCode(404);
     }
 
+    @Test
+    void editEvent_shouldRejectTooShortTitle() {
+        eventService.addEvent(eventMapperAdd.map(createTestEventDTOAdd()));
+        Event event = eventService.getEvents(null, null, null, null, null, null, null).get(0);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new EventDTOEdit("abc", "Updated Description", null, Priority.High))
+                .when()
+                .put("/events/edit/" + event.getId())
+                .then()
+                .statusCode(400);
+
+        assertEquals(event.getTitle(), eventService.getById(event.getId()).getTitle());
+    }
+
     @Test
     void deleteEvent_shouldRemoveEvent() {
         EventDTOAdd eventDTO = createTestEventDTOAdd();
@@ -221,9 +247,115 @@ class ControllerRestAssuredTest {
                 .when()
                 .put("/events/markAsComplete/" + eventId)
                 .then()
-                .statusCode(200);
+                .statusCode(200)
+                .body("status", equalTo("Completed"));
 
         assertEquals(Status.Completed, eventService.getById(eventId).getStatus());
+
+        given()
+                .when()
+                .put("/events/markAsComplete/999")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    void subtasks_shouldListCountCompleteAndDeleteTheSubtree() {
+        eventService.addEvent(eventMapperAdd.map(createTestEventDTOAdd()));
+        long rootId = eventService.getEvents(null, null, null, null, null, null, null).get(0).getId();
+        Event child = eventMapperAdd.map(new EventDTOAdd("Child event", "Description", LocalDate.now().minusDays(1), Priority.Low, rootId));
+        eventService.addEvent(child);
+        Event grandchild = eventMapperAdd.map(new EventDTOAdd("Grandchild event", "Description", null, Priority.Low, child.getId()));
+        eventService.addEvent(grandchild);
+
+        given()
+                .param("open", true)
+                .when()
+                .get("/events/subtasks/" + rootId)
+                .then()
+                .statusCode(200)
+                .body("", hasSize(2))
+                .body("[0].title", equalTo("Child event"))
+                .body("[0].status", equalTo("Overdue"))
+                .body("[1].parentId", equalTo(child.getId().intValue()));
+
+        given()
+                .when()
+                .get("/events/progress/" + rootId)
+                .then()
+                .statusCode(200)
+                .body("Overdue", equalTo(1))
+                .body("Active", equalTo(1));
+
+        given()
+                .param("subtasks", true)
+                .when()
+                .put("/events/markAsComplete/" + rootId)
+                .then()
+                .statusCode(200)
+                .body("status", equalTo("Completed"));
+
+        assertEquals(Status.Late, eventService.getById(child.getId()).getStatus());
+        assertEquals(0, eventService.getSubtasks(rootId, true).size());
+
+        given()
+                .when()
+                .delete("/events/delete/" + rootId)
+                .then()
+                .statusCode(200);
+
+        assertEquals(0, eventService.getEvents(null, null, null, null, null, null, null).size());
+    }
+
+    @Test
+    void moveEvent_shouldRejectMovingUnderOwnSubtask() {
+        eventService.addEvent(eventMapperAdd.map(createTestEventDTOAdd()));
+        long rootId = eventService.getEvents(null, null, null, null, null, null, null).get(0).getId();
+        Event child = eventMapperAdd.map(new EventDTOAdd("Child event", "Description", null, Priority.Low, rootId));
+        eventService.addEvent(child);
+
+        given()
+                .param("parentId", child.getId())
+                .when()
+                .put("/events/move/" + rootId)
+                .then()
+                .statusCode(400);
+
+        given()
+                .when()
+                .put("/events/move/" + child.getId())
+                .then()
+                .statusCode(200)
+                .body("parentId", equalTo(null));
+
+        assertEquals(0, eventService.getSubtasks(rootId, false).size());
+    }
+
+    @Test
+    void moveEvent_shouldNotCreateCycleUnderConcurrentMoves() {
+        Event first = eventMapperAdd.map(new EventDTOAdd("First event", "Description", null, Priority.Low));
+        eventService.addEvent(first);
+        Event second = eventMapperAdd.map(new EventDTOAdd("Second event", "Description", null, Priority.Low));
+        eventService.addEvent(second);
+
+        for (int round = 0; round < 10; round++) {
+            CompletableFuture<Integer> firstUnderSecond = CompletableFuture.supplyAsync(() -> move(first.getId(), second.getId()));
+            CompletableFuture<Integer> secondUnderFirst = CompletableFuture.supplyAsync(() -> move(second.getId(), first.getId()));
+
+            assertEquals(List.of(200, 400), Stream.of(firstUnderSecond.join(), secondUnderFirst.join()).sorted().toList());
+
+            move(first.getId(), null);
+            move(second.getId(), null);
+        }
+    }
+
+    private int move(long id, Long parentId) {
+        return (parentId == null ? given() : given().param("parentId", parentId))
+                .when()
+                .put("/events/move/" + id)
+                .then()
+                .extract()
+                .statusCode();
     }
 
     @Test
@@ -307,4 +439,102 @@ class ControllerRestAssuredTest {
                 .then()
                 .statusCode(404);
     }
-}
\ No newline at end of file
+
+    @Test
+    void tenants_shouldOnlySeeTheirOwnEvents() {
+        given()
+                .header("X-Tenant-Id", "acme")
+                .contentType(ContentType.JSON)
+                .body(createTestEventDTOAdd())
+                .when()
+                .post("/events/create")
+                .then()
+                .statusCode(200);
+        long eventId = TenantContext.callAs("acme", () -> eventService.getEvents(null, null, null, null, null, null, null)).get(0).getId();
+
+        given()
+                .header("X-Tenant-Id", "acme")
+                .when()
+                .get("/events/get")
+                .then()
+                .statusCode(200)
+                .body("", hasSize(1));
+
+        given()
+                .when()
+                .get("/events/get")
+                .then()
+                .statusCode(200)
+                .body("", hasSize(0));
+
+        given()
+                .when()
+                .get("/events/getById/" + eventId)
+                .then()
+                .statusCode(404);
+
+        given()
+                .when()
+                .delete("/events/delete/" + eventId)
+                .then()
+                .statusCode(404);
+
+        given()
+                .when()
+                .put("/events/markAsComplete/" + eventId)
+                .then()
+                .statusCode(404);
+        assertEquals(Status.Active, TenantContext.callAs("acme", () -> eventService.getById(eventId)).getStatus());
+    }
+
+    @Test
+    void deleteEvents_shouldDeleteMatchingEventsWithTheirSubtasks() {
+        Event root = eventMapperAdd.map(new EventDTOAdd("Root event", "Description", null, Priority.High));
+        eventService.addEvent(root);
+        Event child = eventMapperAdd.map(new EventDTOAdd("Child event", "Description", null, Priority.Low, root.getId()));
+        eventService.addEvent(child);
+        Event other = eventMapperAdd.map(new EventDTOAdd("Other event", "Description", null, Priority.Low));
+        eventService.addEvent(other);
+        TenantContext.runAs("acme", () -> eventService.addEvent(eventMapperAdd.map(new EventDTOAdd("Acme event", "Description", null, Priority.High))));
+
+        given()
+                .param("priority", "High")
+                .when()
+                .delete("/events/delete")
+                .then()
+                .statusCode(200)
+                .body(equalTo("2"));
+
+        assertEquals(List.of(other.getId()), eventService.getEvents(null, null, null, null, null, null, null).stream().map(Event::getId).toList());
+        assertEquals(1, TenantContext.callAs("acme", () -> eventService.getEvents(null, null, null, null, null, null, null)).size());
+        assertTrue(tombstoneRepository.existsById(root.getId()));
+        assertTrue(tombstoneRepository.existsById(child.getId()));
+        assertFalse(tombstoneRepository.existsById(other.getId()));
+    }
+
+    @Test
+    void deleteAllEvents_shouldOnlyDeleteTheEventsOfTheTenant() {
+        eventService.addEvent(eventMapperAdd.map(createTestEventDTOAdd()));
+        TenantContext.runAs("acme", () -> eventService.addEvent(eventMapperAdd.map(createTestEventDTOAdd())));
+
+        given()
+                .header("X-Tenant-Id", "acme")
+                .when()
+                .delete("/events/delete/all")
+                .then()
+                .statusCode(200);
+
+        assertEquals(1, eventService.getEvents(null, null, null, null, null, null, null).size());
+        assertEquals(0, TenantContext.callAs("acme", () -> eventService.getEvents(null, null, null, null, null, null, null)).size());
+    }
+
+    @Test
+    void request_shouldRejectInvalidTenant() {
+        given()
+                .header("X-Tenant-Id", "Not a tenant")
+                .when()
+                .get("/events/get")
+                .then()
+                .statusCode(400);
+    }
+}
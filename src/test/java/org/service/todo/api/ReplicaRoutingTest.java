@@ -0,0 +1,50 @@
+package org.service.todo.api;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.service.todo.datasource.H2ReplicaCopier;
+import org.service.todo.mapper.EventMapperAdd;
+import org.service.todo.model.Event;
+import org.service.todo.model.EventDTOAdd;
+import org.service.todo.model.Priority;
+import org.service.todo.service.EventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ActiveProfiles("replica")
+@SpringBootTest(properties = "todo.datasource.replica-copy-interval=PT1H")
+class ReplicaRoutingTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventMapperAdd eventMapperAdd;
+
+    @Autowired
+    private H2ReplicaCopier replicaCopier;
+
+    @AfterEach
+    void cleanup() {
+        eventService.deleteAllEvents();
+        replicaCopier.refresh();
+    }
+
+    @Test
+    void readOnlyReads_shouldGoToTheReplica() {
+        Event event = eventMapperAdd.map(new EventDTOAdd("Replicated event", "Description", null, Priority.Medium));
+        eventService.addEvent(event);
+
+        // written to the primary only, a read served by the primary would find it
+        assertThrows(EntityNotFoundException.class, () -> eventService.getById(event.getId()));
+
+        replicaCopier.refresh();
+
+        assertEquals("Replicated event", eventService.getById(event.getId()).getTitle());
+    }
+}
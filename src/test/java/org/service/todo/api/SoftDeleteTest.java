@@ -0,0 +1,70 @@
+package org.service.todo.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.service.todo.mapper.EventMapperAdd;
+import org.service.todo.model.Event;
+import org.service.todo.model.EventDTOAdd;
+import org.service.todo.model.Priority;
+import org.service.todo.service.EventService;
+import org.service.todo.specification.EventSpec;
+import org.service.todo.sync.TombstoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"todo.delete.soft=true", "todo.delete.purge-interval=PT1H"})
+class SoftDeleteTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventMapperAdd eventMapperAdd;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanup() {
+        eventService.deleteAllEvents();
+        jdbcTemplate.update("delete from event where deleted = true");
+    }
+
+    @Test
+    void deleteEvents_shouldHideMatchingEventsAndTheirSubtasks() {
+        Event root = eventMapperAdd.map(new EventDTOAdd("Root event", "Description", null, Priority.High));
+        eventService.addEvent(root);
+        Event child = eventMapperAdd.map(new EventDTOAdd("Child event", "Description", null, Priority.Low, root.getId()));
+        eventService.addEvent(child);
+        Event other = eventMapperAdd.map(new EventDTOAdd("Other event", "Description", null, Priority.Low));
+        eventService.addEvent(other);
+
+        assertEquals(2, eventService.deleteEvents(EventSpec.filterBy(null, null, null, null, Priority.High, null, null)));
+
+        assertEquals(List.of(other.getId()), eventService.getEvents(null, null, null, null, null, null, null).stream().map(Event::getId).toList());
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from event where deleted = true and id in (?, ?)", Integer.class, root.getId(), child.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from event_closure where descendant_id in (?, ?)", Integer.class, root.getId(), child.getId()));
+        assertTrue(tombstoneRepository.existsById(root.getId()));
+        assertTrue(tombstoneRepository.existsById(child.getId()));
+    }
+
+    @Test
+    void deleteEvent_shouldKeepTheRowUntilPurged() {
+        Event event = eventMapperAdd.map(new EventDTOAdd("Single event", "Description", null, Priority.Medium));
+        eventService.addEvent(event);
+
+        eventService.deleteEvent(event.getId());
+
+        assertEquals(0, eventService.getEvents(null, null, null, null, null, null, null).size());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from event where deleted = true and id = ?", Integer.class, event.getId()));
+    }
+}
@@ -0,0 +1,75 @@
+package org.service.todo.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.service.todo.model.Event;
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+import org.service.todo.query.QueryParser;
+import org.service.todo.query.SpecificationCompiler;
+import org.service.todo.repository.Repository;
+import org.service.todo.service.EventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class SpecificationCompilerTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private Repository repository;
+
+    @BeforeEach
+    void init() {
+        LocalDate today = LocalDate.now();
+        add("Open past due", today.minusDays(1), Status.Active);
+        add("Open in time", today.plusDays(1), Status.Active);
+        add("Done past due", today.minusDays(1), Status.Completed);
+        add("Done no deadline", null, Status.Completed);
+        add("Late in time", today.plusDays(1), Status.Late);
+    }
+
+    @AfterEach
+    void cleanup() {
+        eventService.deleteAllEvents();
+    }
+
+    private void add(String title, LocalDate deadline, Status status) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setDescription("Description");
+        event.setDeadline(deadline);
+        event.setStatus(status);
+        event.setPriority(Priority.Medium);
+        eventService.addEvent(event);
+    }
+
+    private List<String> titles(String expression) {
+        return repository.findAll(SpecificationCompiler.compile(QueryParser.parse(expression))).stream()
+                .map(Event::getTitle)
+                .sorted()
+                .toList();
+    }
+
+    @Test
+    void compile_shouldFilterOnTheListedStatus() {
+        assertEquals(List.of("Open past due"), titles("status = Overdue"));
+        assertEquals(List.of("Done no deadline", "Open in time"), titles("status = Active"));
+        assertEquals(List.of("Done past due"), titles("status = Completed"));
+        assertEquals(List.of("Late in time"), titles("status = Late"));
+    }
+
+    @Test
+    void compile_shouldMatchTheInMemoryFilterUnderNegation() {
+        assertEquals(List.of("Done no deadline", "Done past due", "Late in time", "Open in time"), titles("status != Overdue"));
+        assertEquals(List.of("Done past due", "Open past due"), titles("status in (Overdue, Completed) and deadline < " + LocalDate.now()));
+    }
+}
@@ -0,0 +1,84 @@
+package org.service.todo.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.service.todo.TodoApplication;
+import org.service.todo.model.Event;
+import org.service.todo.model.Priority;
+import org.service.todo.repository.Repository;
+import org.service.todo.service.EventService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+class PersistenceTuningBenchmark {
+
+    private static final int EVENTS = 20_000;
+    private static final int READS = 20;
+    private static final int UPDATES = 1_000;
+
+    @Test
+    void compareDefaultAndProdProfiles() {
+        Result baseline = run("default");
+        Result tuned = run("prod");
+
+        System.out.printf("%-8s insert %6d ms  read %6d ms  update %6d ms%n", "default", baseline.insertMillis, baseline.readMillis, baseline.updateMillis);
+        System.out.printf("%-8s insert %6d ms  read %6d ms  update %6d ms%n", "prod", tuned.insertMillis, tuned.readMillis, tuned.updateMillis);
+    }
+
+    private Result run(String profile) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profile)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark-" + profile + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER,VALUE",
+                        "spring.jpa.hibernate.ddl-auto=update")
+                .run()) {
+            Repository repository = context.getBean(Repository.class);
+            EventService eventService = context.getBean(EventService.class);
+
+            long start = System.nanoTime();
+            repository.saveAll(events());
+            long insertMillis = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            List<Event> events = List.of();
+            for (int i = 0; i < READS; i++) {
+                events = eventService.getEvents(null, null, null, null, null, null, null);
+            }
+            long readMillis = (System.nanoTime() - start) / 1_000_000;
+            assertEquals(EVENTS, events.size());
+
+            start = System.nanoTime();
+            for (int i = 0; i < UPDATES; i++) {
+                eventService.markAsComplete(events.get(i).getId());
+            }
+            long updateMillis = (System.nanoTime() - start) / 1_000_000;
+
+            return new Result(insertMillis, readMillis, updateMillis);
+        }
+    }
+
+    private static List<Event> events() {
+        List<Event> events = new ArrayList<>(EVENTS);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event();
+            event.setTitle("Event " + i);
+            event.setDescription("Description " + i);
+            event.setDeadline(today.plusDays(1 + i % 30));
+            event.setPriority(Priority.values()[i % Priority.values().length]);
+            events.add(event);
+        }
+        return events;
+    }
+
+    private record Result(long insertMillis, long readMillis, long updateMillis) {
+    }
+}
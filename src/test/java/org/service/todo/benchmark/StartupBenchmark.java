@@ -0,0 +1,104 @@
+package org.service.todo.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Time from process launch to the first answered request, for the plain jar and for the
+ * fast-start layout. Needs {@code mvn -Pfast-start package} first; the first request lists
+ * events, so it only counts once the schema is in place and the database answers.
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+    private static final Path APPLICATION = Path.of("target", "application");
+    private static final String JAR = "TODO-0.0.1-SNAPSHOT.jar";
+    private static final int RUNS = 5;
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        assumeTrue(Files.exists(APPLICATION.resolve(JAR)), "run mvn -Pfast-start package first");
+
+        long plain = median(List.of("-jar", JAR));
+        List<String> fast = new ArrayList<>(List.of("-Dspring.aot.enabled=true", "-Dspring.profiles.active=prod,fast",
+                // the embedded database starts empty, prod only validates the schema
+                "-Dspring.jpa.hibernate.ddl-auto=update"));
+        if (Files.exists(APPLICATION.resolve("application.jsa"))) {
+            fast.add("-XX:SharedArchiveFile=application.jsa");
+        }
+        fast.addAll(List.of("-jar", JAR));
+        long tuned = median(fast);
+
+        System.out.printf("%-10s time to first request %6d ms%n", "plain", plain);
+        System.out.printf("%-10s time to first request %6d ms%n", "fast", tuned);
+    }
+
+    private long median(List<String> arguments) throws Exception {
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            samples[i] = timeToFirstRequest(arguments);
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+
+    private long timeToFirstRequest(List<String> arguments) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(arguments);
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER,VALUE");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/events/get")).build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(APPLICATION.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = start + TimeUnit.SECONDS.toNanos(120);
+            while (System.nanoTime() < deadline) {
+                assertTrue(process.isAlive(), "application exited during startup");
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    assertEquals(200, response.statusCode(), "first request failed");
+                    return elapsed;
+                } catch (IOException e) {
+                    Thread.sleep(5);
+                }
+            }
+            throw new IllegalStateException("application did not answer within 120 s");
+        } finally {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
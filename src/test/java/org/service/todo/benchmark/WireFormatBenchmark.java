@@ -0,0 +1,88 @@
+package org.service.todo.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.service.todo.config.EventWireModule;
+import org.service.todo.model.Event;
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+class WireFormatBenchmark {
+
+    private static final int EVENTS = 10_000;
+    private static final int ROUNDS = 50;
+    private static final TypeReference<List<Event>> EVENT_LIST = new TypeReference<>() {};
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cbor = EventWireModule.cborMapper();
+
+    @Test
+    void cborIsSmallerAndFasterThanJson() throws Exception {
+        List<Event> events = events();
+
+        byte[] jsonBytes = json.writeValueAsBytes(events);
+        byte[] cborBytes = cbor.writeValueAsBytes(events);
+        assertEquals(events, cbor.readValue(cborBytes, EVENT_LIST));
+
+        long jsonEncode = encodeNanos(json, events);
+        long cborEncode = encodeNanos(cbor, events);
+        long jsonDecode = decodeNanos(json, jsonBytes);
+        long cborDecode = decodeNanos(cbor, cborBytes);
+
+        System.out.printf("json: %d bytes, encode %.2f ms, decode %.2f ms%n", jsonBytes.length, jsonEncode / 1e6, jsonDecode / 1e6);
+        System.out.printf("cbor: %d bytes, encode %.2f ms, decode %.2f ms%n", cborBytes.length, cborEncode / 1e6, cborDecode / 1e6);
+
+        assertTrue(cborBytes.length < jsonBytes.length);
+    }
+
+    private long encodeNanos(ObjectMapper mapper, List<Event> events) throws Exception {
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.writeValueAsBytes(events);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.writeValueAsBytes(events);
+        }
+        return (System.nanoTime() - start) / ROUNDS;
+    }
+
+    private long decodeNanos(ObjectMapper mapper, byte[] bytes) throws Exception {
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.readValue(bytes, EVENT_LIST);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.readValue(bytes, EVENT_LIST);
+        }
+        return (System.nanoTime() - start) / ROUNDS;
+    }
+
+    private static List<Event> events() {
+        List<Event> events = new ArrayList<>(EVENTS);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event();
+            event.setId((long) i);
+            event.setTitle("Event " + i);
+            event.setDescription("Description " + i);
+            event.setDeadline(today.plusDays(i % 30));
+            event.setStatus(Status.values()[i % Status.values().length]);
+            event.setPriority(Priority.values()[i % Priority.values().length]);
+            event.setCreatedDate(today.minusDays(i % 7));
+            event.setEditDate(today);
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,195 @@
+package org.service.todo.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.service.todo.invalidation.Invalidation;
+import org.service.todo.invalidation.InvalidationBus;
+import org.service.todo.model.Event;
+import org.service.todo.model.Priority;
+import org.service.todo.repository.Repository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeds the embedded H2 database, drives the configured request mix over HTTP and compares the
+ * per-endpoint results with the stored baseline. Run with {@code mvn test -Ploadtest}; add
+ * {@code -Dloadtest.update-baseline=true} to write the measured values as a new baseline into
+ * the report directory.
+ */
+@Tag("loadtest")
+@ActiveProfiles("prod")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER,VALUE",
+        "spring.jpa.hibernate.ddl-auto=update",
+        "todo.admission.enabled=false"
+})
+class EndpointLoadTest {
+
+    private static final int SEED_CHUNK_SIZE = 5_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Repository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Test
+    void endpointsStayWithinBaseline() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        List<Long> ids = seed(settings.seedEvents());
+        Collections.shuffle(ids);
+        // a fifth of the dataset is reserved for deletes so the other operations never hit a missing id
+        int reserved = Math.max(1, ids.size() / 5);
+        Queue<Long> deletable = new ConcurrentLinkedQueue<>(ids.subList(0, reserved));
+        List<Long> stable = List.copyOf(ids.subList(reserved, ids.size()));
+
+        LoadDriver driver = new LoadDriver("http://localhost:" + port + "/", settings, stable, deletable);
+        try {
+            driver.run(settings.warmup());
+            driver.metrics().values().forEach(EndpointMetrics::reset);
+            driver.run(settings.duration());
+        } finally {
+            driver.close();
+        }
+
+        Properties measured = report(settings, driver.metrics());
+        // a request dropped at the in-flight cap was never measured, so its latency is missing from the histograms
+        List<String> dropped = dropped(measured);
+        assertTrue(dropped.isEmpty(), "Requests dropped at the in-flight cap, lower the rate or raise the cap:\n" + String.join("\n", dropped));
+        if (settings.updateBaseline()) {
+            try (Writer writer = Files.newBufferedWriter(settings.reportDir().resolve("baseline.properties"))) {
+                measured.store(writer, "Measured at " + settings.rate() + " req/s over " + settings.seedEvents() + " events");
+            }
+            return;
+        }
+        List<String> regressions = compare(settings, measured);
+        assertTrue(regressions.isEmpty(), "Load test regressions:\n" + String.join("\n", regressions));
+    }
+
+    private List<Long> seed(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        Priority[] priorities = Priority.values();
+        for (int from = 0; from < count; from += SEED_CHUNK_SIZE) {
+            int size = Math.min(SEED_CHUNK_SIZE, count - from);
+            int offset = from;
+            List<Event> saved = transactionTemplate.execute(status -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<Event> chunk = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    Event event = new Event();
+                    event.setTitle("Seeded event " + (offset + i));
+                    event.setDescription("Seeded by the load test");
+                    event.setDeadline(random.nextInt(10) == 0 ? null : LocalDate.now().plusDays(random.nextInt(-30, 365)));
+                    event.setPriority(priorities[random.nextInt(priorities.length)]);
+                    chunk.add(event);
+                }
+                return repository.saveAll(chunk);
+            });
+            saved.forEach(event -> ids.add(event.getId()));
+        }
+        // in-memory indexes loaded at startup, before the seed
+        invalidationBus.publish(Invalidation.everything());
+        return ids;
+    }
+
+    private static Properties report(LoadTestSettings settings, Map<Operation, EndpointMetrics> metrics) throws IOException {
+        Files.createDirectories(settings.reportDir());
+        Properties measured = new Properties();
+        double seconds = settings.duration().toMillis() / 1000.0;
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(settings.reportDir().resolve("summary.txt")))) {
+            String header = String.format(Locale.ROOT, "%-15s %9s %9s %8s %8s %10s %10s %10s %10s",
+                    "endpoint", "requests", "req/s", "errors", "dropped", "p50 ms", "p99 ms", "p999 ms", "max ms");
+            summary.println(header);
+            for (Map.Entry<Operation, EndpointMetrics> entry : metrics.entrySet()) {
+                Histogram histogram = entry.getValue().snapshot();
+                long requests = histogram.getTotalCount();
+                long dropped = entry.getValue().droppedCount();
+                if (requests == 0 && dropped == 0) {
+                    continue;
+                }
+                String name = entry.getKey().name();
+                double errorRate = (double) (entry.getValue().errors() + dropped) / (requests + dropped);
+                double p50 = histogram.getValueAtPercentile(50) / 1000.0;
+                double p99 = histogram.getValueAtPercentile(99) / 1000.0;
+                double p999 = histogram.getValueAtPercentile(99.9) / 1000.0;
+                String line = String.format(Locale.ROOT, "%-15s %9d %9.1f %8d %8d %10.2f %10.2f %10.2f %10.2f", name, requests, requests / seconds,
+                        entry.getValue().errors(), dropped, p50, p99, p999, histogram.getMaxValue() / 1000.0);
+                summary.println(line);
+
+                measured.setProperty(name + ".p50.ms", String.format(Locale.ROOT, "%.2f", p50));
+                measured.setProperty(name + ".p99.ms", String.format(Locale.ROOT, "%.2f", p99));
+                measured.setProperty(name + ".p999.ms", String.format(Locale.ROOT, "%.2f", p999));
+                measured.setProperty(name + ".dropped", String.valueOf(dropped));
+                measured.setProperty(name + ".error-rate", String.format(Locale.ROOT, "%.4f", errorRate));
+                measured.setProperty(name + ".throughput", String.format(Locale.ROOT, "%.1f", requests / seconds));
+                try (PrintStream distribution = new PrintStream(Files.newOutputStream(settings.reportDir().resolve(name + ".hgrm")))) {
+                    histogram.outputPercentileDistribution(distribution, 1000.0);
+                }
+            }
+        }
+        return measured;
+    }
+
+    private static List<String> dropped(Properties measured) {
+        return measured.stringPropertyNames().stream()
+                .filter(key -> key.endsWith(".dropped") && !"0".equals(measured.getProperty(key)))
+                .sorted()
+                .map(key -> key + ": " + measured.getProperty(key))
+                .toList();
+    }
+
+    /**
+     * Latencies and error rates may grow by at most the tolerance factor, throughput may shrink
+     * by at most the same factor. Keys missing from the baseline are not checked.
+     */
+    private static List<String> compare(LoadTestSettings settings, Properties measured) throws IOException {
+        Properties baseline = new Properties();
+        try (Reader reader = Files.newBufferedReader(settings.baseline())) {
+            baseline.load(reader);
+        }
+        List<String> regressions = new ArrayList<>();
+        for (String key : baseline.stringPropertyNames()) {
+            String value = measured.getProperty(key);
+            if (value == null) {
+                continue;
+            }
+            double actual = Double.parseDouble(value);
+            double expected = Double.parseDouble(baseline.getProperty(key));
+            boolean regressed = key.endsWith(".throughput")
+                    ? actual < expected / settings.tolerance()
+                    : actual > expected * settings.tolerance();
+            if (regressed) {
+                regressions.add(String.format(Locale.ROOT, "%s: %s (baseline %s, tolerance x%.2f)", key, value, baseline.getProperty(key), settings.tolerance()));
+            }
+        }
+        return regressions;
+    }
+}
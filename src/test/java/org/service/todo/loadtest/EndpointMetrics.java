@@ -0,0 +1,51 @@
+package org.service.todo.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency distribution and outcome counters of one endpoint. Latencies are in microseconds and
+ * measured from the intended arrival time, so queueing delay is not hidden (coordinated omission).
+ */
+class EndpointMetrics {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Recorder recorder = new Recorder(MAX_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    void success(long latencyNanos) {
+        recorder.recordValue(Math.min(MAX_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    }
+
+    void error(long latencyNanos) {
+        success(latencyNanos);
+        errors.increment();
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    void reset() {
+        recorder.reset();
+        errors.reset();
+        dropped.reset();
+    }
+
+    Histogram snapshot() {
+        return recorder.getIntervalHistogram();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long droppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,153 @@
+package org.service.todo.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: arrivals follow a Poisson process at the target rate regardless
+ * of how fast responses come back, so an overloaded server shows up as growing latency instead
+ * of a silently lower request rate. In-flight requests are capped to protect the test JVM,
+ * arrivals above the cap are counted as dropped.
+ */
+class LoadDriver {
+
+    private final String baseUrl;
+    private final LoadTestSettings settings;
+    private final List<Long> stableIds;
+    private final Queue<Long> deletableIds;
+    private final Map<Operation, EndpointMetrics> metrics = new EnumMap<>(Operation.class);
+    private final Operation[] schedule;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger created = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(executor)
+            .build();
+
+    LoadDriver(String baseUrl, LoadTestSettings settings, List<Long> stableIds, Queue<Long> deletableIds) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.stableIds = stableIds;
+        this.deletableIds = deletableIds;
+        int total = settings.mix().values().stream().mapToInt(Integer::intValue).sum();
+        this.schedule = new Operation[total];
+        int slot = 0;
+        for (Map.Entry<Operation, Integer> entry : settings.mix().entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                schedule[slot++] = entry.getKey();
+            }
+        }
+        for (Operation operation : Operation.values()) {
+            metrics.put(operation, new EndpointMetrics());
+        }
+    }
+
+    Map<Operation, EndpointMetrics> metrics() {
+        return metrics;
+    }
+
+    /**
+     * Generates arrivals for {@code duration} and waits for the stragglers to finish.
+     */
+    void run(Duration duration) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long end = System.nanoTime() + duration.toNanos();
+        long next = System.nanoTime();
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            if (inFlight.get() >= settings.maxInFlight()) {
+                metrics.get(operation).dropped();
+            } else {
+                fire(operation, next);
+            }
+            next += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    void close() {
+        executor.shutdownNow();
+    }
+
+    private void fire(Operation operation, long intendedStart) {
+        HttpRequest request = request(operation);
+        if (request == null) {
+            metrics.get(operation).dropped();
+            return;
+        }
+        EndpointMetrics endpoint = metrics.get(operation);
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    inFlight.decrementAndGet();
+                    long latency = System.nanoTime() - intendedStart;
+                    if (failure != null || response.statusCode() >= 400) {
+                        endpoint.error(latency);
+                    } else {
+                        endpoint.success(latency);
+                    }
+                });
+    }
+
+    private HttpRequest request(Operation operation) {
+        return switch (operation) {
+            case create -> json("events/create", "POST", eventJson("Load event " + created.incrementAndGet()));
+            case edit -> json("events/edit/" + stableId(), "PUT", eventJson("Edited load event"));
+            case get -> get("events/get");
+            case getById -> get("events/getById/" + stableId());
+            case markAsComplete -> json("events/markAsComplete/" + stableId(), "PUT", null);
+            case delete -> {
+                Long id = deletableIds.poll();
+                yield id == null ? null : HttpRequest.newBuilder(uri("events/delete/" + id)).DELETE().build();
+            }
+        };
+    }
+
+    private long stableId() {
+        return stableIds.get(ThreadLocalRandom.current().nextInt(stableIds.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).header("Accept", "application/json").GET().build();
+    }
+
+    private HttpRequest json(String path, String method, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String eventJson(String title) {
+        LocalDate deadline = LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(-5, 60));
+        return "{\"title\":\"" + title + "\",\"description\":\"Generated by the load test\",\"deadline\":\"" + deadline + "\"}";
+    }
+}
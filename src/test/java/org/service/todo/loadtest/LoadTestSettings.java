@@ -0,0 +1,37 @@
+package org.service.todo.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test knobs, read from system properties so they can be overridden on the command line,
+ * e.g. {@code mvn test -Ploadtest -Dloadtest.seed-events=1000000 -Dloadtest.rate=1000}.
+ */
+record LoadTestSettings(int seedEvents, double rate, Duration warmup, Duration duration, Map<Operation, Integer> mix,
+                        int maxInFlight, Path baseline, double tolerance, Path reportDir, boolean updateBaseline) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.parseInt(System.getProperty("loadtest.seed-events", "10000")),
+                Double.parseDouble(System.getProperty("loadtest.rate", "200")),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT60S")),
+                parseMix(System.getProperty("loadtest.mix", "create=10,edit=10,get=1,getById=59,markAsComplete=10,delete=10")),
+                Integer.parseInt(System.getProperty("loadtest.max-in-flight", "5000")),
+                Path.of(System.getProperty("loadtest.baseline", "src/test/resources/loadtest/baseline.properties")),
+                Double.parseDouble(System.getProperty("loadtest.tolerance", "1.25")),
+                Path.of(System.getProperty("loadtest.report-dir", "target/loadtest")),
+                Boolean.getBoolean("loadtest.update-baseline"));
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split("=");
+            weights.put(Operation.valueOf(entry[0].trim()), Integer.parseInt(entry[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,10 @@
+package org.service.todo.loadtest;
+
+enum Operation {
+    create,
+    edit,
+    get,
+    getById,
+    markAsComplete,
+    delete
+}
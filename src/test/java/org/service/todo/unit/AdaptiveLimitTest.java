@@ -0,0 +1,57 @@
+package org.service.todo.unit;
+
+import org.junit.jupiter.api.Test;
+import org.service.todo.admission.AdaptiveLimit;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimitTest {
+
+    private static final long FLOOR = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void tryAcquire_shouldRejectAboveLimit() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 10, 2.0, 0.5, FLOOR);
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.release();
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void onSample_shouldBackOffWhenLatencyRises() {
+        AdaptiveLimit limit = new AdaptiveLimit(8, 1, 10, 2.0, 0.5, FLOOR);
+        limit.onSample(TimeUnit.MILLISECONDS.toNanos(60), false);
+        limit.onSample(TimeUnit.MILLISECONDS.toNanos(200), false);
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    void onSample_shouldIgnoreLatencyBelowFloor() {
+        AdaptiveLimit limit = new AdaptiveLimit(8, 1, 10, 2.0, 0.5, FLOOR);
+        limit.onSample(TimeUnit.MILLISECONDS.toNanos(1), false);
+        limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), false);
+        assertEquals(8, limit.getLimit());
+    }
+
+    @Test
+    void onSample_shouldGrowWhileSaturatedAndHealthy() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 10, 2.0, 0.5, FLOOR);
+        limit.tryAcquire();
+        limit.tryAcquire();
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(5), false);
+        }
+        assertTrue(limit.getLimit() > 2);
+    }
+
+    @Test
+    void onSample_shouldBackOffOnFailure() {
+        AdaptiveLimit limit = new AdaptiveLimit(8, 1, 10, 2.0, 0.5, FLOOR);
+        limit.onSample(TimeUnit.MILLISECONDS.toNanos(1), true);
+        assertEquals(4, limit.getLimit());
+    }
+}
@@ -0,0 +1,62 @@
+package org.service.todo.unit;
+
+import org.junit.jupiter.api.Test;
+import org.service.todo.admission.AdmissionEndpoints;
+import org.service.todo.admission.CostClass;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdmissionEndpointsTest {
+
+    private final AdmissionEndpoints endpoints = new AdmissionEndpoints(() -> Map.of(
+            parse("/events/get"), CostClass.Scan,
+            parse("/events/delete/{id}"), CostClass.Cheap,
+            parse("/events/delete/all"), CostClass.Scan,
+            parse("/events/getById/{id}"), CostClass.Cheap));
+
+    private static PathPattern parse(String pattern) {
+        return PathPatternParser.defaultInstance.parse(pattern);
+    }
+
+    @Test
+    void resolve_shouldKeyOnHandlerPattern() {
+        assertEquals("/events/getById/{id}", endpoints.resolve("/events/getById/42"));
+        assertEquals("/events/getById/{id}", endpoints.resolve("/events/getById/not-a-number"));
+        assertEquals("/events/get", endpoints.resolve("/events/get"));
+    }
+
+    @Test
+    void resolve_shouldPreferLiteralPatterns() {
+        assertEquals("/events/delete/all", endpoints.resolve("/events/delete/all"));
+        assertEquals("/events/delete/{id}", endpoints.resolve("/events/delete/7"));
+    }
+
+    @Test
+    void resolve_shouldCollapseUnknownPaths() {
+        List<String> resolved = Stream.of("/events/a", "/events/b/c", "/events/getById/1/extra")
+                .map(endpoints::resolve)
+                .toList();
+        assertEquals(List.of(AdmissionEndpoints.UNMATCHED, AdmissionEndpoints.UNMATCHED, AdmissionEndpoints.UNMATCHED), resolved);
+    }
+
+    @Test
+    void cost_shouldFollowTheHandlerAndDefaultToCheap() {
+        assertEquals(CostClass.Scan, endpoints.cost(endpoints.resolve("/events/get")));
+        assertEquals(CostClass.Scan, endpoints.cost(endpoints.resolve("/events/delete/all")));
+        assertEquals(CostClass.Cheap, endpoints.cost(endpoints.resolve("/events/delete/7")));
+        assertEquals(CostClass.Cheap, endpoints.cost(endpoints.resolve("/events/unknown")));
+    }
+
+    @Test
+    void max_shouldPreferTheCostlierClass() {
+        assertEquals(CostClass.Scan, CostClass.max(CostClass.Cheap, CostClass.Scan));
+        assertEquals(CostClass.Scan, CostClass.max(CostClass.Scan, CostClass.Cheap));
+        assertEquals(CostClass.Cheap, CostClass.max(CostClass.Cheap, CostClass.Cheap));
+    }
+}
@@ -0,0 +1,163 @@
+package org.service.todo.unit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.service.todo.history.EventHistory;
+import org.service.todo.history.EventHistoryRecorder;
+import org.service.todo.history.EventHistoryRepository;
+import org.service.todo.history.EventHistoryService;
+import org.service.todo.history.HistoryType;
+import org.service.todo.model.Status;
+import org.service.todo.sync.EventTombstone;
+import org.service.todo.sync.TombstoneRepository;
+import org.service.todo.tenant.TenantContext;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventHistoryRecorderTest {
+
+    @Mock
+    private EventHistoryRepository repository;
+
+    @Mock
+    private TombstoneRepository tombstoneRepository;
+
+    @Captor
+    private ArgumentCaptor<List<EventHistory>> batches;
+
+    @Test
+    void stop_shouldWriteQueuedEntriesInBatches() throws InterruptedException {
+        EventHistoryRecorder recorder = new EventHistoryRecorder(repository, 100, 2, Duration.ofHours(1));
+        recorder.start();
+        for (long id = 1; id <= 5; id++) {
+            recorder.created(id, Status.Active);
+        }
+        verifyNoInteractions(repository);
+
+        recorder.stop();
+
+        verify(repository, times(3)).saveAll(batches.capture());
+        assertEquals(List.of(2, 2, 1), batches.getAllValues().stream().map(List::size).toList());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), batches.getAllValues().stream().flatMap(List::stream).map(EventHistory::getEventId).toList());
+    }
+
+    @Test
+    void record_shouldDropAndCountEntriesOverCapacity() throws InterruptedException {
+        EventHistoryRecorder recorder = new EventHistoryRecorder(repository, 2, 10, Duration.ofHours(1));
+        recorder.created(1L, Status.Active);
+        recorder.statusChanged(1L, Status.Active, Status.Completed);
+        recorder.deleted(1L, Status.Completed);
+        assertEquals(1, recorder.droppedCount());
+
+        recorder.stop();
+
+        verify(repository).saveAll(batches.capture());
+        assertEquals(List.of(HistoryType.Created, HistoryType.StatusChanged), batches.getValue().stream().map(EventHistory::getType).toList());
+
+        recorder.deleted(1L, Status.Completed);
+        assertEquals(1, recorder.droppedCount());
+    }
+
+    @Test
+    void record_shouldQueueEntriesOnlyOnceTheTransactionCommits() throws InterruptedException {
+        EventHistoryRecorder recorder = new EventHistoryRecorder(repository, 10, 10, Duration.ofHours(1));
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> recorder.created(1L, Status.Active));
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            recorder.created(2L, Status.Active);
+            recorder.deleted(2L, Status.Active);
+        });
+
+        recorder.stop();
+
+        verify(repository).saveAll(batches.capture());
+        assertEquals(List.of(HistoryType.Created, HistoryType.Deleted), batches.getValue().stream().map(EventHistory::getType).toList());
+        assertEquals(List.of(2L, 2L), batches.getValue().stream().map(EventHistory::getEventId).toList());
+    }
+
+    private static void inTransaction(int outcome, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (outcome == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(outcome));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void record_shouldSkipEntriesThatChangeNothing() throws InterruptedException {
+        EventHistoryRecorder recorder = new EventHistoryRecorder(repository, 10, 10, Duration.ofHours(1));
+        recorder.statusChanged(1L, Status.Active, Status.Active);
+        recorder.edited(1L, List.of());
+
+        recorder.stop();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void start_shouldFlushOnTheInterval() throws InterruptedException {
+        EventHistoryRecorder recorder = new EventHistoryRecorder(repository, 10, 10, Duration.ofMillis(10));
+        recorder.start();
+        try {
+            TenantContext.runAs("acme", () -> recorder.edited(1L, List.of("title", "deadline")));
+
+            verify(repository, timeout(1000)).saveAll(batches.capture());
+            EventHistory entry = batches.getValue().get(0);
+            assertEquals("acme", entry.getTenantId());
+            assertEquals("title,deadline", entry.getChangedFields());
+        } finally {
+            recorder.stop();
+        }
+    }
+
+    @Test
+    void getHistory_shouldEndWithTheTombstoneOfABulkDelete() {
+        Instant deletedAt = Instant.parse("2026-10-01T12:00:00Z");
+        EventHistory created = new EventHistory(1L, 7L, HistoryType.Created, null, Status.Active, null, deletedAt.minusSeconds(60), TenantContext.DEFAULT);
+        when(repository.findByTenantIdAndEventIdOrderByRecordedAtAscIdAsc(TenantContext.DEFAULT, 7L)).thenReturn(List.of(created));
+        when(tombstoneRepository.findById(7L)).thenReturn(Optional.of(new EventTombstone(7L, 42L, deletedAt, TenantContext.DEFAULT)));
+
+        List<EventHistory> history = new EventHistoryService(repository, tombstoneRepository).getHistory(7L);
+
+        assertEquals(List.of(HistoryType.Created, HistoryType.Deleted), history.stream().map(EventHistory::getType).toList());
+        assertEquals(deletedAt, history.get(1).getRecordedAt());
+    }
+
+    @Test
+    void getHistory_shouldNotRepeatARecordedDelete() {
+        Instant now = Instant.now();
+        EventHistory deleted = new EventHistory(2L, 7L, HistoryType.Deleted, Status.Active, null, null, now, TenantContext.DEFAULT);
+        when(repository.findByTenantIdAndEventIdOrderByRecordedAtAscIdAsc(TenantContext.DEFAULT, 7L)).thenReturn(List.of(deleted));
+
+        List<EventHistory> history = new EventHistoryService(repository, tombstoneRepository).getHistory(7L);
+
+        assertEquals(List.of(deleted), history);
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    @Test
+    void getHistory_shouldIgnoreTombstonesOfOtherTenants() {
+        when(repository.findByTenantIdAndEventIdOrderByRecordedAtAscIdAsc(TenantContext.DEFAULT, 7L)).thenReturn(List.of());
+        when(tombstoneRepository.findById(7L)).thenReturn(Optional.of(new EventTombstone(7L, 42L, Instant.now(), "acme")));
+
+        assertTrue(new EventHistoryService(repository, tombstoneRepository).getHistory(7L).isEmpty());
+    }
+}
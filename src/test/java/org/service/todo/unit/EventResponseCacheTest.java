@@ -0,0 +1,193 @@
+package org.service.todo.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.service.todo.cache.DataVersion;
+import org.service.todo.cache.EventResponseCache;
+import org.service.todo.cache.EventResponseCache.CachedResponse;
+import org.service.todo.tenant.TenantContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventResponseCacheTest {
+
+    // encodes to exactly 100 bytes of JSON
+    private static final String BODY = "a".repeat(98);
+
+    private final DataVersion dataVersion = new DataVersion();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private EventResponseCache cache(long maxBytes, long maxBytesPerTenant, boolean gzip) {
+        return new EventResponseCache(dataVersion, new ObjectMapper(), new MappingJackson2CborHttpMessageConverter(), maxBytes, maxBytesPerTenant, gzip);
+    }
+
+    private CachedResponse load(EventResponseCache cache, String key) {
+        return load(cache, key, MediaType.APPLICATION_JSON);
+    }
+
+    private CachedResponse load(EventResponseCache cache, String key, MediaType mediaType) {
+        Supplier<Object> loader = () -> {
+            loads.incrementAndGet();
+            return BODY;
+        };
+        return cache.getOrLoad(EventResponseCache.key(key), mediaType, loader);
+    }
+
+    @Test
+    void getOrLoad_shouldEvictLeastRecentlyUsedOverTheByteBound() {
+        EventResponseCache cache = cache(250, 250, false);
+        load(cache, "first");
+        load(cache, "second");
+        load(cache, "first");
+        load(cache, "third");
+        assertEquals(3, loads.get());
+
+        load(cache, "first");
+        load(cache, "third");
+        assertEquals(3, loads.get());
+
+        load(cache, "second");
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void getOrLoad_shouldEvictWithinTheTenantOverItsOwnBound() {
+        EventResponseCache cache = cache(300, 200, false);
+        TenantContext.runAs("acme", () -> load(cache, "shared"));
+        load(cache, "first");
+        load(cache, "second");
+        load(cache, "third");
+        assertEquals(4, loads.get());
+
+        TenantContext.runAs("acme", () -> load(cache, "shared"));
+        assertEquals(4, loads.get());
+        load(cache, "first");
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void getOrLoad_shouldEvictFromTheLargestTenantOverTheTotalBound() {
+        EventResponseCache cache = cache(300, 300, false);
+        TenantContext.runAs("acme", () -> load(cache, "shared"));
+        load(cache, "first");
+        load(cache, "second");
+        load(cache, "third");
+        assertEquals(4, loads.get());
+
+        TenantContext.runAs("acme", () -> load(cache, "shared"));
+        load(cache, "second");
+        load(cache, "third");
+        assertEquals(4, loads.get());
+        load(cache, "first");
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void getOrLoad_shouldSkipResponsesLargerThanTheTenantBound() {
+        EventResponseCache cache = cache(1000, 50, false);
+        load(cache, "large");
+        load(cache, "large");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getOrLoad_shouldReloadAfterTheTenantVersionChanges() {
+        EventResponseCache cache = cache(1000, 1000, false);
+        load(cache, "list");
+        TenantContext.runAs("acme", () -> load(cache, "list"));
+        assertEquals(2, loads.get());
+
+        dataVersion.bump("acme");
+        load(cache, "list");
+        assertEquals(2, loads.get());
+        TenantContext.runAs("acme", () -> load(cache, "list"));
+        assertEquals(3, loads.get());
+
+        dataVersion.bump();
+        load(cache, "list");
+        TenantContext.runAs("acme", () -> load(cache, "list"));
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void getOrLoad_shouldKeepMediaTypesApart() throws IOException {
+        EventResponseCache cache = cache(1000, 1000, false);
+        CachedResponse json = load(cache, "list", MediaType.APPLICATION_JSON);
+        CachedResponse cbor = load(cache, "list", MediaType.APPLICATION_CBOR);
+        assertEquals(2, loads.get());
+        assertSame(json, load(cache, "list", MediaType.APPLICATION_JSON));
+        assertSame(cbor, load(cache, "list", MediaType.APPLICATION_CBOR));
+        assertEquals(2, loads.get());
+
+        MockHttpServletResponse jsonResponse = new MockHttpServletResponse();
+        json.writeTo(jsonResponse, null);
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, jsonResponse.getContentType());
+        assertEquals("\"" + BODY + "\"", jsonResponse.getContentAsString());
+        MockHttpServletResponse cborResponse = new MockHttpServletResponse();
+        cbor.writeTo(cborResponse, null);
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, cborResponse.getContentType());
+        assertNotEquals(jsonResponse.getContentAsString(), cborResponse.getContentAsString());
+    }
+
+    @Test
+    void writeTo_shouldServeGzipOnlyWhenAccepted() throws IOException {
+        EventResponseCache cache = cache(1000, 1000, true);
+        CachedResponse cached = load(cache, "list");
+
+        MockHttpServletResponse identity = new MockHttpServletResponse();
+        cached.writeTo(identity, "identity");
+        assertNull(identity.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"" + BODY + "\"", identity.getContentAsString());
+
+        MockHttpServletResponse gzip = new MockHttpServletResponse();
+        cached.writeTo(gzip, "gzip, deflate");
+        assertEquals("gzip", gzip.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(gzip.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray()))) {
+            assertArrayEquals(identity.getContentAsByteArray(), in.readAllBytes());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "gzip;q=0|false",
+            "gzip; q=0.0, deflate|false",
+            "deflate, br|false",
+            "identity, *;q=0|false",
+            "gzip;q=0, *|false",
+            "*|true",
+            "GZIP;Q=0.5|true",
+            "br;q=1.0, gzip;q=0.8|true",
+            "x-gzip|true"
+    })
+    void writeTo_shouldHonourTheQValuesOfAcceptEncoding(String acceptEncoding, boolean gzip) throws IOException {
+        CachedResponse cached = load(cache(1000, 1000, true), "list");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cached.writeTo(response, acceptEncoding);
+
+        assertEquals(gzip ? "gzip" : null, response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void getOrLoad_shouldCountBothEncodingsTowardsTheBound() {
+        // 100 bytes of JSON plus its compressed copy no longer fit into 100 bytes
+        EventResponseCache cache = cache(1000, 100, true);
+        load(cache, "list");
+        load(cache, "list");
+        assertEquals(2, loads.get());
+    }
+}
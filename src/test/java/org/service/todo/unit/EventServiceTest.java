@@ -1,21 +1,39 @@
 package org.service.todo.unit;
 
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.service.todo.change.ChangeSequence;
+import org.service.todo.change.EventChange;
+import org.service.todo.hierarchy.EventClosureRepository;
+import org.service.todo.hierarchy.StatusTally;
+import org.service.todo.history.EventHistoryRecorder;
 import org.service.todo.model.Event;
 import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+import org.service.todo.reminder.DeadlineRef;
+import org.service.todo.repository.EventUpdate;
 import org.service.todo.repository.Repository;
 import org.service.todo.service.EventService;
+import org.service.todo.service.EventStatusWriter;
+import org.service.todo.sync.TombstoneRepository;
+import org.service.todo.tag.EventTagRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +44,30 @@ class EventServiceTest {
     @Mock
     private Repository repository;
 
+    @Mock
+    private TombstoneRepository tombstoneRepository;
+
+    @Mock
+    private EventClosureRepository closureRepository;
+
+    @Mock
+    private EventTagRepository tagRepository;
+
+    @Mock
+    private ChangeSequence changeSequence;
+
+    @Mock
+    private EventStatusWriter statusWriter;
+
+    @Mock
+    private EventHistoryRecorder historyRecorder;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private EventService eventService;
 
@@ -185,4 +227,171 @@ class EventServiceTest {
         assertNull(result.getDeadline());
         assertEquals("Regular event", result.getTitle());
     }
+
+    @Test
+    void addEvent_shouldRejectUnknownParent() {
+        Event event = new Event();
+        event.setTitle("Subtask");
+        event.setParentId(7L);
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.addEvent(event));
+        verify(closureRepository).insertRoot(event.getId());
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void moveEvent_shouldRejectMovingUnderOwnSubtask() {
+        when(closureRepository.existsByAncestorIdAndDescendantId(1L, 2L)).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.moveEvent(1L, 2L));
+        verify(repository, never()).updateParent(anyLong(), any(), any());
+        verify(closureRepository, never()).detachSubtree(anyLong());
+    }
+
+    @Test
+    void getSubtaskProgress_shouldCountByListedStatus() {
+        when(repository.tallySubtree(eq(1L), any())).thenReturn(List.of(
+                new StatusTally(Status.Active, 5L, 2L, 1L),
+                new StatusTally(Status.Completed, 3L, 1L, 1L)));
+
+        Map<Status, Long> progress = eventService.getSubtaskProgress(1L);
+
+        // an undated subtask is listed as Active whatever its stored status, as in EventRules.listedStatus
+        assertEquals(Map.of(Status.Active, 4L, Status.Overdue, 2L, Status.Completed, 2L, Status.Late, 0L), progress);
+        assertEquals(8L, progress.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void markTreeAsComplete_shouldRecordEveryCompletedSubtask() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        Event root = new Event();
+        root.setId(1L);
+        when(repository.findDeadlinesInSubtree(eq(1L), any())).thenReturn(List.of(
+                new DeadlineRef(1L, null, Status.Active),
+                new DeadlineRef(2L, yesterday, Status.Active)));
+        when(repository.findById(1L)).thenReturn(Optional.of(root));
+
+        eventService.markTreeAsComplete(1L);
+
+        verify(repository).completeSubtree(eq(1L), any());
+        verify(historyRecorder).statusChanged(1L, Status.Active, Status.Completed);
+        verify(historyRecorder).statusChanged(2L, Status.Active, Status.Late);
+        verify(publisher).publishEvent(EventChange.updated(List.of(1L, 2L)));
+    }
+
+    @Test
+    void getById_shouldPersistDerivedStatusAfterTheReadTransaction() {
+        Event event = new Event();
+        event.setId(1L);
+        event.setDeadline(LocalDate.now().minusDays(1));
+        when(repository.findById(1L)).thenReturn(Optional.of(event));
+
+        assertEquals(Status.Overdue, eventService.getById(1L).getStatus());
+
+        InOrder inOrder = inOrder(transactionManager, statusWriter);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(statusWriter).persist(Map.of(Status.Overdue, List.of(1L)));
+    }
+
+    @Test
+    void markAsComplete_shouldRecordTheStatusItLeft() {
+        Event previous = new Event();
+        previous.setId(1L);
+        previous.setStatus(Status.Overdue);
+        previous.setChangeSeq(5L);
+        Event current = new Event();
+        current.setId(1L);
+        current.setStatus(Status.Late);
+        current.setChangeSeq(6L);
+        when(repository.applyTransition(eq(1L), any(), any())).thenReturn(Optional.of(new EventUpdate(previous, current)));
+
+        assertSame(current, eventService.markAsComplete(1L));
+
+        verify(historyRecorder).statusChanged(1L, Status.Overdue, Status.Late);
+        verify(publisher).publishEvent(EventChange.updated(1L));
+    }
+
+    @Test
+    void markAsComplete_shouldSkipEventsThatAreAlreadyDone() {
+        Event event = new Event();
+        event.setId(1L);
+        event.setStatus(Status.Completed);
+        event.setChangeSeq(5L);
+        when(repository.applyTransition(eq(1L), any(), any())).thenReturn(Optional.of(new EventUpdate(event, event)));
+
+        assertSame(event, eventService.markAsComplete(1L));
+
+        verifyNoInteractions(historyRecorder, publisher);
+    }
+
+    @Test
+    void markAsComplete_shouldFailWhenNoRowWasUpdated() {
+        when(repository.applyTransition(eq(1L), any(), any())).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> eventService.markAsComplete(1L));
+
+        verifyNoInteractions(historyRecorder, publisher);
+    }
+
+    @Test
+    void editEvent_shouldRecordOnlyChangedFields() {
+        Event previous = new Event();
+        previous.setId(1L);
+        previous.setTitle("Same title");
+        previous.setDescription("Old description");
+        previous.setPriority(Priority.High);
+        previous.setChangeSeq(5L);
+        Event current = new Event();
+        current.setId(1L);
+        current.setTitle("Same title");
+        current.setDescription("New description");
+        current.setPriority(Priority.High);
+        current.setChangeSeq(6L);
+        Event edit = new Event();
+        edit.setTitle("Same title");
+        edit.setDescription("New description");
+        edit.setPriority(Priority.High);
+        when(repository.applyEdit(eq(1L), eq(edit), any())).thenReturn(Optional.of(new EventUpdate(previous, current)));
+
+        assertSame(current, eventService.editEvent(edit, 1L));
+
+        verify(historyRecorder).edited(1L, List.of("description"));
+        verify(publisher).publishEvent(EventChange.updated(1L));
+    }
+
+    @Test
+    void editEvent_shouldSkipUnchangedEdits() {
+        Event current = new Event();
+        current.setId(1L);
+        current.setTitle("Same title");
+        current.setDescription("Same description");
+        current.setChangeSeq(5L);
+        Event edit = new Event();
+        edit.setTitle("Same title");
+        edit.setDescription("Same description");
+        when(repository.applyEdit(eq(1L), eq(edit), any())).thenReturn(Optional.of(new EventUpdate(current, current)));
+
+        eventService.editEvent(edit, 1L);
+
+        verifyNoInteractions(historyRecorder, publisher);
+    }
+
+    @Test
+    void tagEvent_shouldReplaceTagsWithNormalizedOnes() {
+        when(repository.existsById(1L)).thenReturn(true);
+
+        List<String> tags = eventService.tagEvent(1L, List.of(" Backend", "urgent", "backend"));
+
+        assertEquals(List.of("backend", "urgent"), tags);
+        verify(tagRepository).deleteByEventIds(List.of(1L));
+        verify(tagRepository).insert(1L, "backend");
+        verify(tagRepository).insert(1L, "urgent");
+        verify(publisher).publishEvent(EventChange.updated(1L));
+    }
+
+    @Test
+    void tagEvent_shouldRejectInvalidTags() {
+        assertThrows(IllegalArgumentException.class, () -> eventService.tagEvent(1L, List.of("no spaces")));
+        verifyNoInteractions(tagRepository);
+    }
 }
@@ -0,0 +1,143 @@
+package org.service.todo.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.service.todo.model.Event;
+import org.service.todo.repository.Repository;
+import org.service.todo.service.EventService;
+import org.service.todo.sync.EventSyncPage;
+import org.service.todo.sync.EventSyncService;
+import org.service.todo.sync.EventTombstone;
+import org.service.todo.sync.SyncHorizon;
+import org.service.todo.sync.SyncHorizonRepository;
+import org.service.todo.sync.SyncWatermark;
+import org.service.todo.sync.TombstoneRepository;
+import org.service.todo.tenant.TenantContext;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventSyncServiceTest {
+
+    @Mock
+    private Repository repository;
+
+    @Mock
+    private TombstoneRepository tombstoneRepository;
+
+    @Mock
+    private SyncHorizonRepository horizonRepository;
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private SyncWatermark watermark;
+
+    private EventSyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        syncService = new EventSyncService(repository, tombstoneRepository, horizonRepository, eventService, watermark, Duration.ofDays(30));
+        lenient().when(horizonRepository.findById(anyInt())).thenReturn(Optional.empty());
+        lenient().when(eventService.applyDerivedStatus(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void changesSince_shouldNotServeChangesAtOrAboveTheWatermark() {
+        // seq 10 is still in flight, so 12 must not be served even though it is committed
+        when(watermark.safe()).thenReturn(10L);
+        when(repository.findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(eq(5L), eq(10L), any(Limit.class)))
+                .thenReturn(List.of(event(1L, 7L)));
+        when(tombstoneRepository.findByTenantIdAndChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(eq(TenantContext.DEFAULT), eq(5L), eq(10L), any(Limit.class)))
+                .thenReturn(List.of());
+
+        EventSyncPage page = syncService.changesSince(5L, 100);
+
+        assertEquals(List.of(1L), page.getUpserts().stream().map(Event::getId).toList());
+        assertEquals(7L, page.getNextSince());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void changesSince_shouldReturnEmptyPageWhenCursorIsAtTheWatermark() {
+        when(watermark.safe()).thenReturn(6L);
+
+        EventSyncPage page = syncService.changesSince(5L, 100);
+
+        assertTrue(page.getUpserts().isEmpty());
+        assertTrue(page.getDeletes().isEmpty());
+        assertEquals(5L, page.getNextSince());
+        assertFalse(page.isHasMore());
+        verifyNoInteractions(repository, tombstoneRepository);
+    }
+
+    @Test
+    void changesSince_shouldPageInterleavedUpsertsAndTombstonesInSeqOrder() {
+        when(watermark.safe()).thenReturn(100L);
+        when(repository.findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(eq(0L), eq(100L), any(Limit.class)))
+                .thenReturn(List.of(event(1L, 1L), event(2L, 3L), event(3L, 5L)));
+        when(tombstoneRepository.findByTenantIdAndChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(anyString(), eq(0L), eq(100L), any(Limit.class)))
+                .thenReturn(List.of(tombstone(10L, 2L), tombstone(11L, 4L), tombstone(12L, 6L)));
+
+        EventSyncPage page = syncService.changesSince(0L, 3);
+
+        assertEquals(List.of(1L, 2L), page.getUpserts().stream().map(Event::getId).toList());
+        assertEquals(List.of(10L), page.getDeletes());
+        assertEquals(3L, page.getNextSince());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    void changesSince_shouldNotCutABulkDeleteAcrossPages() {
+        when(watermark.safe()).thenReturn(100L);
+        when(repository.findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(eq(0L), eq(100L), any(Limit.class)))
+                .thenReturn(List.of(event(1L, 1L)));
+        // one bulk delete at seq 4 removed four events, only two of which fit the page
+        when(tombstoneRepository.findByTenantIdAndChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(anyString(), eq(0L), eq(100L), any(Limit.class)))
+                .thenReturn(List.of(tombstone(10L, 4L), tombstone(11L, 4L), tombstone(12L, 4L)));
+        when(tombstoneRepository.findByTenantIdAndChangeSeq(TenantContext.DEFAULT, 4L))
+                .thenReturn(List.of(tombstone(10L, 4L), tombstone(11L, 4L), tombstone(12L, 4L), tombstone(13L, 4L)));
+
+        EventSyncPage page = syncService.changesSince(0L, 3);
+
+        assertEquals(List.of(1L), page.getUpserts().stream().map(Event::getId).toList());
+        assertEquals(List.of(10L, 11L, 12L, 13L), page.getDeletes());
+        assertEquals(4L, page.getNextSince());
+    }
+
+    @Test
+    void changesSince_shouldAskForFullResyncBehindTheCompactionHorizon() {
+        when(horizonRepository.findById(anyInt())).thenReturn(Optional.of(new SyncHorizon(SyncHorizon.ID, 50L, null)));
+
+        EventSyncPage page = syncService.changesSince(10L, 100);
+
+        assertTrue(page.isFullResync());
+        verifyNoInteractions(repository, tombstoneRepository, watermark);
+    }
+
+    private static Event event(long id, long changeSeq) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTitle("Event " + id);
+        event.setChangeSeq(changeSeq);
+        return event;
+    }
+
+    private static EventTombstone tombstone(long eventId, long changeSeq) {
+        return new EventTombstone(eventId, changeSeq, Instant.now(), TenantContext.DEFAULT);
+    }
+}
@@ -0,0 +1,51 @@
+package org.service.todo.unit;
+
+import org.junit.jupiter.api.Test;
+import org.service.todo.reminder.HierarchicalTimingWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void advanceTo_shouldFireEachTimerOnItsTick() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(6, 3, 100);
+        long[] expirations = {101, 163, 164, 228, 5000, 262_144, 300_000};
+        for (long expiration : expirations) {
+            wheel.schedule(expiration, expiration);
+        }
+        List<Long> fired = new ArrayList<>();
+        for (long tick = 101; tick <= 300_000; tick++) {
+            fired.clear();
+            wheel.advanceTo(tick, fired);
+            for (Long expiration : fired) {
+                assertEquals(tick, expiration);
+            }
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancel_shouldPreventFiring() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(6, 3, 0);
+        HierarchicalTimingWheel.Timer<String> kept = wheel.schedule(70, "kept");
+        HierarchicalTimingWheel.Timer<String> cancelled = wheel.schedule(70, "cancelled");
+        wheel.cancel(cancelled);
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(100, fired);
+        assertEquals(List.of("kept"), fired);
+        assertFalse(kept.isPending());
+        assertFalse(cancelled.isPending());
+    }
+
+    @Test
+    void schedule_shouldRejectPastTicks() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(6, 3, 50);
+        assertNull(wheel.schedule(50, "now"));
+        assertNull(wheel.schedule(10, "past"));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,117 @@
+package org.service.todo.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.service.todo.invalidation.Invalidation;
+import org.service.todo.invalidation.InvalidationRecord;
+import org.service.todo.invalidation.InvalidationRecordRepository;
+import org.service.todo.invalidation.JdbcInvalidationBus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcInvalidationBusTest {
+
+    @Mock
+    private InvalidationRecordRepository repository;
+
+    private final List<Invalidation> delivered = new ArrayList<>();
+
+    private JdbcInvalidationBus bus;
+
+    @BeforeEach
+    void init() {
+        bus = new JdbcInvalidationBus(repository, List.of(delivered::add), 3, 2, Duration.ofSeconds(5), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void publish_shouldDeliverLocallyAndCoalesceIntoOneRecord() {
+        bus.publish(new Invalidation(Set.of(1L), false));
+        bus.publish(new Invalidation(Set.of(2L), false));
+        assertEquals(2, delivered.size());
+
+        bus.flush();
+        bus.flush();
+
+        ArgumentCaptor<InvalidationRecord> record = ArgumentCaptor.forClass(InvalidationRecord.class);
+        verify(repository, times(1)).save(record.capture());
+        assertEquals(Set.of("1", "2"), Set.of(record.getValue().getEventIds().split(",")));
+    }
+
+    @Test
+    void publish_shouldWidenToEverythingWhenTooManyIds() {
+        bus.publish(new Invalidation(Set.of(1L, 2L, 3L, 4L), false));
+        bus.flush();
+
+        ArgumentCaptor<InvalidationRecord> record = ArgumentCaptor.forClass(InvalidationRecord.class);
+        verify(repository).save(record.capture());
+        assertNull(record.getValue().getEventIds());
+    }
+
+    @Test
+    void publish_shouldWidenToAnyTenantWhenTooManyTenants() {
+        bus.publish(new Invalidation(Set.of(1L), false, Set.of("acme")));
+        bus.publish(new Invalidation(Set.of(2L), false, Set.of("zeta")));
+        bus.flush();
+        bus.publish(new Invalidation(Set.of(3L), false, Set.of("acme")));
+        bus.publish(new Invalidation(Set.of(4L), false, Set.of("zeta", "omega")));
+        bus.flush();
+
+        ArgumentCaptor<InvalidationRecord> record = ArgumentCaptor.forClass(InvalidationRecord.class);
+        verify(repository, times(2)).save(record.capture());
+        assertEquals(Set.of("acme", "zeta"), Set.of(record.getAllValues().get(0).getTenants().split(",")));
+        assertNull(record.getAllValues().get(1).getTenants());
+    }
+
+    @Test
+    void poll_shouldDeliverRemoteRecordsOnce() {
+        Instant now = Instant.now().plusSeconds(1);
+        when(repository.latestCreatedAt()).thenReturn(Instant.now());
+        when(repository.findByCreatedAtGreaterThanOrderByIdAsc(any())).thenReturn(List.of(
+                new InvalidationRecord(1L, "other-node", "7,8", now),
+                new InvalidationRecord(2L, "other-node", "9", now)));
+
+        bus.poll();
+        bus.poll();
+
+        assertEquals(1, delivered.size());
+        assertEquals(Set.of(7L, 8L, 9L), delivered.get(0).ids());
+        assertFalse(delivered.get(0).all());
+    }
+
+    @Test
+    void poll_shouldFollowDatabaseTimeNotTheLocalClock() {
+        // the database clock runs an hour behind this node
+        Instant database = Instant.now().minus(Duration.ofHours(1));
+        when(repository.latestCreatedAt()).thenReturn(database);
+        when(repository.findByCreatedAtGreaterThanOrderByIdAsc(any())).thenReturn(List.of(
+                new InvalidationRecord(1L, "other-node", "7", database.plusMillis(10))));
+
+        bus.poll();
+
+        verify(repository).findByCreatedAtGreaterThanOrderByIdAsc(database.minusSeconds(5));
+        assertEquals(Set.of(7L), delivered.get(0).ids());
+    }
+
+    @Test
+    void flush_shouldLeaveTheTimestampToTheDatabase() {
+        bus.publish(new Invalidation(Set.of(1L), false));
+        bus.flush();
+
+        ArgumentCaptor<InvalidationRecord> record = ArgumentCaptor.forClass(InvalidationRecord.class);
+        verify(repository).save(record.capture());
+        assertNull(record.getValue().getCreatedAt());
+    }
+}
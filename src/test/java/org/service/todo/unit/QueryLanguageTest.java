@@ -0,0 +1,110 @@
+package org.service.todo.unit;
+
+import org.junit.jupiter.api.Test;
+import org.service.todo.model.Event;
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+import org.service.todo.query.PredicateCompiler;
+import org.service.todo.query.QueryParser;
+import org.service.todo.query.QueryPlan;
+import org.service.todo.query.QueryPlanCache;
+import org.service.todo.query.RowSchema;
+import org.service.todo.urgency.UrgentEvent;
+
+import java.time.LocalDate;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryLanguageTest {
+
+    private static Event event(String title, LocalDate deadline, Status status, Priority priority) {
+        Event event = new Event();
+        event.setId(1L);
+        event.setTitle(title);
+        event.setDeadline(deadline);
+        event.setStatus(status);
+        event.setPriority(priority);
+        return event;
+    }
+
+    private static Predicate<Event> compile(String expression) {
+        return PredicateCompiler.compile(QueryParser.parse(expression), RowSchema.EVENT);
+    }
+
+    @Test
+    void compile_shouldMatchCombinedConditions() {
+        Predicate<Event> predicate = compile("status in (Overdue, Active) and priority >= High and deadline < 2026-11-01");
+
+        assertTrue(predicate.test(event("Task", LocalDate.of(2026, 10, 31), Status.Active, Priority.Critical)));
+        assertTrue(predicate.test(event("Task", LocalDate.of(2026, 1, 1), Status.Overdue, Priority.High)));
+        assertFalse(predicate.test(event("Task", LocalDate.of(2026, 11, 1), Status.Active, Priority.High)));
+        assertFalse(predicate.test(event("Task", LocalDate.of(2026, 10, 1), Status.Completed, Priority.High)));
+        assertFalse(predicate.test(event("Task", LocalDate.of(2026, 10, 1), Status.Active, Priority.Medium)));
+        assertFalse(predicate.test(event("Task", null, Status.Active, Priority.High)));
+    }
+
+    @Test
+    void compile_shouldFuseRangesOnTheSameField() {
+        Predicate<Event> predicate = compile("deadline >= 2026-01-01 and deadline <= 2026-01-31 and priority != Low and priority != Medium");
+
+        assertTrue(predicate.test(event("Task", LocalDate.of(2026, 1, 15), Status.Active, Priority.High)));
+        assertFalse(predicate.test(event("Task", LocalDate.of(2026, 2, 1), Status.Active, Priority.High)));
+        assertFalse(predicate.test(event("Task", LocalDate.of(2026, 1, 15), Status.Active, Priority.Medium)));
+    }
+
+    @Test
+    void compile_shouldNotMatchMissingValuesUnderNegation() {
+        Predicate<Event> predicate = compile("not (deadline < 2026-01-01) or title contains 'x''y'");
+
+        assertFalse(predicate.test(event("Task", null, Status.Active, Priority.Low)));
+        assertTrue(predicate.test(event("Task", LocalDate.of(2026, 1, 1), Status.Active, Priority.Low)));
+        assertTrue(predicate.test(event("Take x'y", null, Status.Active, Priority.Low)));
+    }
+
+    @Test
+    void compile_shouldSupportNullChecks() {
+        Predicate<Event> predicate = compile("deadline is null or status = completed");
+
+        assertTrue(predicate.test(event("Task", null, Status.Active, Priority.Low)));
+        assertTrue(predicate.test(event("Task", LocalDate.now(), Status.Completed, Priority.Low)));
+        assertFalse(predicate.test(event("Task", LocalDate.now(), Status.Active, Priority.Low)));
+    }
+
+    @Test
+    void compile_shouldRejectFieldsMissingFromRowType() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PredicateCompiler.compile(QueryParser.parse("description = 'a'"), RowSchema.URGENT_EVENT));
+        Predicate<UrgentEvent> predicate = PredicateCompiler.compile(QueryParser.parse("priority = critical"), RowSchema.URGENT_EVENT);
+        assertTrue(predicate.test(new UrgentEvent(1L, "Task", null, Priority.Critical, Status.Active)));
+    }
+
+    @Test
+    void parse_shouldRejectInvalidExpressions() {
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("status > Active"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("priority = Urgent"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("deadline < tomorrow"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("title = 'open"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("(status = Active"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("owner = 'me'"));
+    }
+
+    @Test
+    void parse_shouldBoundNestingAndLength() {
+        assertEquals(QueryParser.parse("status = Active"), QueryParser.parse("(".repeat(30) + "status = Active" + ")".repeat(30)));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("(".repeat(100) + "status = Active" + ")".repeat(100)));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("not ".repeat(100) + "status = Active"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("(".repeat(100_000)));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("title = '" + "a".repeat(5000) + "'"));
+    }
+
+    @Test
+    void plan_shouldBeSharedAcrossEquivalentSpellings() {
+        QueryPlanCache cache = new QueryPlanCache(16);
+
+        QueryPlan plan = cache.plan("Status  IN (overdue,ACTIVE) AND priority>=high");
+
+        assertSame(plan, cache.plan("status in (Overdue, Active) and priority >= High"));
+        assertEquals("status in ( overdue , active ) and priority >= high", plan.getExpression());
+    }
+}
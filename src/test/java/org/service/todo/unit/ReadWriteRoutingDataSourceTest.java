@@ -0,0 +1,70 @@
+package org.service.todo.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.service.todo.datasource.ReadWriteRoutingDataSource;
+import org.service.todo.datasource.ReadYourWrites;
+import org.service.todo.datasource.RoutingProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void init() {
+        DataSource primary = h2("routing-primary", "primary");
+        DataSource replica = h2("routing-replica", "replica");
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, List.of(replica), RoutingProperties.Selection.ROUND_ROBIN));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransaction_shouldUseReplica() {
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void readWriteTransaction_shouldUsePrimary() {
+        assertEquals("primary", readWrite.execute(status -> node()));
+    }
+
+    @Test
+    void readOnlyTransaction_shouldUsePrimaryInsideReadYourWritesWindow() {
+        ReadYourWrites.setPrimaryOnly(true);
+        try {
+            assertEquals("primary", readOnly.execute(status -> node()));
+        } finally {
+            ReadYourWrites.setPrimaryOnly(false);
+        }
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource h2(String database, String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(16))");
+        jdbcTemplate.update("delete from node");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+}
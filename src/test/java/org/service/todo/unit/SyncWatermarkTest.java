@@ -0,0 +1,85 @@
+package org.service.todo.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.service.todo.change.ChangeSequence;
+import org.service.todo.sync.SyncHorizon;
+import org.service.todo.sync.SyncHorizonRepository;
+import org.service.todo.sync.SyncWatermark;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SyncWatermarkTest {
+
+    @Mock
+    private ChangeSequence changeSequence;
+
+    @Mock
+    private SyncHorizonRepository horizonRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SyncWatermark watermark;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        watermark = new SyncWatermark(changeSequence, horizonRepository, transactionTemplate);
+    }
+
+    @Test
+    void advance_shouldOnlyPromoteValuesSampledAPeriodEarlier() {
+        // writer A holds seq 10 uncommitted while the watermark samples 11, then writer B commits 12
+        when(changeSequence.next()).thenReturn(11L, 13L, 20L);
+        when(horizonRepository.raiseSafeThrough(anyInt(), anyLong())).thenReturn(1);
+
+        watermark.advance();
+        assertEquals(0L, watermark.safe());
+
+        watermark.advance();
+        assertEquals(11L, watermark.safe());
+
+        watermark.advance();
+        assertEquals(13L, watermark.safe());
+    }
+
+    @Test
+    void advance_shouldStoreEveryPromotedValue() {
+        when(changeSequence.next()).thenReturn(11L, 13L);
+        when(horizonRepository.raiseSafeThrough(SyncHorizon.ID, 11L)).thenReturn(0);
+        when(horizonRepository.existsById(SyncHorizon.ID)).thenReturn(false);
+
+        watermark.advance();
+        verify(horizonRepository, never()).raiseSafeThrough(anyInt(), anyLong());
+
+        watermark.advance();
+        verify(horizonRepository).save(new SyncHorizon(SyncHorizon.ID, 0L, 11L));
+    }
+
+    @Test
+    void advance_shouldStartFromTheStoredValueAfterARestart() {
+        when(horizonRepository.findById(SyncHorizon.ID)).thenReturn(Optional.of(new SyncHorizon(SyncHorizon.ID, 0L, 40L)));
+        when(changeSequence.next()).thenReturn(45L, 50L);
+        when(horizonRepository.raiseSafeThrough(SyncHorizon.ID, 45L)).thenReturn(1);
+
+        watermark.advance();
+        assertEquals(40L, watermark.safe());
+
+        watermark.advance();
+        assertEquals(45L, watermark.safe());
+        verify(horizonRepository).findById(SyncHorizon.ID);
+    }
+}
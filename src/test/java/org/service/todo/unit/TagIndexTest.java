@@ -0,0 +1,138 @@
+package org.service.todo.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.service.todo.invalidation.Invalidation;
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+import org.service.todo.repository.Repository;
+import org.service.todo.tag.EventTag;
+import org.service.todo.tag.EventTagRepository;
+import org.service.todo.tag.TagIndex;
+import org.service.todo.tag.TagQuery;
+import org.service.todo.tenant.TenantContext;
+import org.service.todo.urgency.UrgentEvent;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TagIndexTest {
+
+    @Mock
+    private Repository repository;
+
+    @Mock
+    private EventTagRepository tagRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TagIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TagIndex(repository, tagRepository, transactionManager, 100);
+        LocalDate today = LocalDate.now();
+        when(repository.findUrgentByIds(anyCollection())).thenReturn(List.of(
+                new UrgentEvent(1L, "Backend urgent", today.plusDays(1), Priority.High, Status.Active),
+                new UrgentEvent(2L, "Backend urgent blocked", today.plusDays(1), Priority.High, Status.Active),
+                new UrgentEvent(3L, "Backend overdue", today.minusDays(1), Priority.Low, Status.Active),
+                new UrgentEvent(4L, "Frontend done", null, Priority.Medium, Status.Completed),
+                new UrgentEvent(5L, "Untagged", today, Priority.Low, Status.Completed)));
+        when(tagRepository.findByEventIdIn(anyCollection())).thenReturn(List.of(
+                new EventTag(1L, "backend"), new EventTag(1L, "urgent"),
+                new EventTag(2L, "backend"), new EventTag(2L, "urgent"), new EventTag(2L, "blocked"),
+                new EventTag(3L, "backend"),
+                new EventTag(4L, "frontend"), new EventTag(4L, "urgent")));
+        index.onInvalidation(new Invalidation(Set.of(1L, 2L, 3L, 4L, 5L), false));
+        index.idle().join();
+    }
+
+    private List<Long> find(List<String> all, List<String> any, List<String> none, List<Status> statuses, List<Priority> priorities) {
+        return index.find(TagQuery.of(all, any, none, statuses, priorities), 0, 100);
+    }
+
+    @Test
+    void find_shouldCombineTagsWithAndOrAndNot() {
+        assertEquals(List.of(1L), find(List.of("backend", "urgent"), null, List.of("blocked"), null, null));
+        assertEquals(List.of(1L, 2L, 3L, 4L), find(null, List.of("backend", "frontend"), null, null, null));
+        assertEquals(List.of(3L, 5L), find(null, null, List.of("urgent"), null, null));
+        assertEquals(List.of(), find(List.of("backend", "unknown"), null, null, null, null));
+    }
+
+    @Test
+    void find_shouldFilterByListedStatusAndPriority() {
+        assertEquals(List.of(3L), find(List.of("backend"), null, null, List.of(Status.Overdue), null));
+        // Completed without a deadline is listed as Active
+        assertEquals(List.of(1L, 2L, 4L), find(null, null, null, List.of(Status.Active), null));
+        assertEquals(List.of(5L), find(null, null, null, List.of(Status.Completed), null));
+        assertEquals(List.of(1L, 2L), find(List.of("urgent"), null, null, null, List.of(Priority.High)));
+    }
+
+    @Test
+    void find_shouldPageAfterId() {
+        assertEquals(List.of(2L, 3L), index.find(TagQuery.of(List.of("backend"), null, null, null, null), 1, 2));
+        assertEquals(3, index.count(TagQuery.of(List.of("backend"), null, null, null, null)));
+    }
+
+    @Test
+    void onInvalidation_shouldReplaceTagsAndDropDeletedEvents() {
+        when(repository.findUrgentByIds(anyCollection())).thenReturn(List.of(
+                new UrgentEvent(2L, "Backend urgent", LocalDate.now().plusDays(1), Priority.High, Status.Active)));
+        when(tagRepository.findByEventIdIn(anyCollection())).thenReturn(List.of(
+                new EventTag(2L, "backend"), new EventTag(2L, "urgent")));
+
+        index.onInvalidation(new Invalidation(Set.of(1L, 2L), false));
+        index.idle().join();
+
+        assertEquals(List.of(2L), find(List.of("backend", "urgent"), null, List.of("blocked"), null, null));
+        assertEquals(Map.of("backend", 2, "frontend", 1, "urgent", 2), index.tagCounts());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void onInvalidation_shouldLeaveIdsBeyondTheBitmapRangeOut() {
+        long large = Integer.MAX_VALUE + 1L;
+        when(repository.findUrgentByIds(anyCollection())).thenReturn(List.of(
+                new UrgentEvent(6L, "Backend", null, Priority.High, Status.Active),
+                new UrgentEvent(large, "Backend too", null, Priority.High, Status.Active)));
+        when(tagRepository.findByEventIdIn(anyCollection())).thenReturn(List.of(
+                new EventTag(6L, "backend"), new EventTag(large, "backend")));
+
+        index.onInvalidation(new Invalidation(Set.of(6L, large), false));
+        index.idle().join();
+
+        assertEquals(List.of(1L, 2L, 3L, 6L), find(List.of("backend"), null, null, null, null));
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    void onInvalidation_shouldOnlyReloadTheClearedTenant() {
+        when(repository.findUrgentByIds(anyCollection())).thenReturn(List.of(
+                new UrgentEvent(6L, "Acme backend", null, Priority.High, Status.Active, "acme")));
+        when(tagRepository.findByEventIdIn(anyCollection())).thenReturn(List.of(new EventTag(6L, "backend")));
+        index.onInvalidation(new Invalidation(Set.of(6L), false));
+        index.idle().join();
+        when(repository.findUrgentAfter(anyLong(), anyCollection(), any())).thenReturn(List.of());
+
+        index.onInvalidation(new Invalidation(Set.of(), true, Set.of("acme")));
+        index.idle().join();
+
+        assertEquals(5, index.size());
+        assertEquals(List.of(1L, 2L, 3L), find(List.of("backend"), null, null, null, null));
+        assertTrue(TenantContext.callAs("acme", index::tagCounts).isEmpty());
+    }
+}
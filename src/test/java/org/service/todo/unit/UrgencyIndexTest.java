@@ -0,0 +1,140 @@
+package org.service.todo.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.service.todo.invalidation.Invalidation;
+import org.service.todo.model.Priority;
+import org.service.todo.model.Status;
+import org.service.todo.repository.Repository;
+import org.service.todo.tenant.TenantContext;
+import org.service.todo.urgency.UrgencyIndex;
+import org.service.todo.urgency.UrgentEvent;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UrgencyIndexTest {
+
+    @Mock
+    private Repository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UrgencyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UrgencyIndex(repository, transactionManager, 100);
+    }
+
+    @Test
+    void top_shouldOrderByPriorityThenDeadlineThenId() {
+        LocalDate today = LocalDate.now();
+        when(repository.findUrgentByIds(anyCollection())).thenReturn(List.of(
+                new UrgentEvent(1L, "Low soon", today, Priority.Low, Status.Active),
+                new UrgentEvent(2L, "Critical later", today.plusDays(5), Priority.Critical, Status.Active),
+                new UrgentEvent(3L, "Critical sooner", today.plusDays(1), Priority.Critical, Status.Active),
+                new UrgentEvent(4L, "High no deadline", null, Priority.High, Status.Active),
+                new UrgentEvent(5L, "High with deadline", today.plusDays(30), Priority.High, Status.Active)));
+
+        index.onInvalidation(new Invalidation(Set.of(1L, 2L, 3L, 4L, 5L), false));
+        index.idle().join();
+
+        assertEquals(List.of(3L, 2L, 5L), index.top(3).stream().map(UrgentEvent::id).toList());
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void onInvalidation_shouldDropCompletedAndDeletedEvents() {
+        LocalDate today = LocalDate.now();
+        when(repository.findUrgentByIds(anyCollection()))
+                .thenReturn(List.of(
+                        new UrgentEvent(1L, "First", today, Priority.High, Status.Active),
+                        new UrgentEvent(2L, "Second", today, Priority.Medium, Status.Active)))
+                .thenReturn(List.of(new UrgentEvent(1L, "First", today, Priority.High, Status.Completed)))
+                .thenReturn(List.of());
+
+        index.onInvalidation(new Invalidation(Set.of(1L, 2L), false));
+        index.onInvalidation(new Invalidation(Set.of(1L), false));
+        index.idle().join();
+        assertEquals(List.of(2L), index.top(10).stream().map(UrgentEvent::id).toList());
+
+        index.onInvalidation(new Invalidation(Set.of(2L), false));
+        index.idle().join();
+        assertTrue(index.top(10).isEmpty());
+    }
+
+    @Test
+    void top_shouldReportPassedDeadlinesAsOverdue() {
+        when(repository.findUrgentByIds(anyCollection()))
+                .thenReturn(List.of(new UrgentEvent(1L, "Yesterday", LocalDate.now().minusDays(1), Priority.Medium, Status.Active)));
+
+        index.onInvalidation(new Invalidation(Set.of(1L), false));
+        index.idle().join();
+
+        assertEquals(Status.Overdue, index.top(1).get(0).status());
+    }
+
+    @Test
+    void top_shouldOnlyReturnEventsOfTheCurrentTenant() {
+        LocalDate today = LocalDate.now();
+        when(repository.findUrgentByIds(anyCollection())).thenReturn(List.of(
+                new UrgentEvent(1L, "Default low", today, Priority.Low, Status.Active),
+                new UrgentEvent(2L, "Acme critical", today, Priority.Critical, Status.Active, "acme"),
+                new UrgentEvent(3L, "Zeta critical", today, Priority.Critical, Status.Active, "zeta")));
+
+        index.onInvalidation(new Invalidation(Set.of(1L, 2L, 3L), false));
+        index.idle().join();
+
+        assertEquals(List.of(1L), index.top(10).stream().map(UrgentEvent::id).toList());
+        assertEquals(List.of(2L), TenantContext.callAs("acme", () -> index.top(10)).stream().map(UrgentEvent::id).toList());
+        assertTrue(TenantContext.callAs("other", () -> index.top(10)).isEmpty());
+    }
+
+    @Test
+    void onInvalidation_shouldOnlyReloadTheClearedTenant() {
+        LocalDate today = LocalDate.now();
+        when(repository.findUrgentByIds(anyCollection())).thenReturn(List.of(
+                new UrgentEvent(1L, "Default event", today, Priority.Low, Status.Active),
+                new UrgentEvent(2L, "Acme event", today, Priority.Critical, Status.Active, "acme")));
+        when(repository.findUrgentAfter(anyLong(), anyCollection(), any())).thenReturn(List.of());
+        index.onInvalidation(new Invalidation(Set.of(1L, 2L), false));
+
+        index.onInvalidation(new Invalidation(Set.of(), true, Set.of("acme")));
+        index.idle().join();
+
+        assertEquals(List.of(1L), index.top(10).stream().map(UrgentEvent::id).toList());
+        assertTrue(TenantContext.callAs("acme", () -> index.top(10)).isEmpty());
+        verify(repository, times(1)).findUrgentAfter(anyLong(), anyCollection(), any());
+    }
+
+    @Test
+    void onInvalidation_shouldRefreshOffTheCallingThread() {
+        List<String> threads = new ArrayList<>();
+        when(repository.findUrgentByIds(anyCollection())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return List.of();
+        });
+
+        index.onInvalidation(new Invalidation(Set.of(1L), false));
+        index.idle().join();
+
+        assertEquals(List.of("urgency-index-loader"), threads);
+    }
+}